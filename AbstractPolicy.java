@@ -0,0 +1,88 @@
+import java.util.Arrays;
+
+/**
+ * Base das políticas: guarda a página de cada moldura e o índice página -> moldura,
+ * e entrega as molduras vazias em ordem (0, 1, 2, ...) antes de pedir uma vítima.
+ * Também mantém o bit de página suja (M) de cada moldura e conta as gravações de volta
+ * (vítima suja, ou clean() quando a política grava por conta própria).
+ */
+public abstract class AbstractPolicy implements ReplacementPolicy {
+    protected final String name;
+    protected final int frames;
+    protected final int[] pages;
+    protected final IntIntMap index;
+    protected int used; // molduras já ocupadas alguma vez
+    protected final FrameBits dirty;
+    protected long writebacks;
+
+    protected AbstractPolicy(String name, int frames) {
+        if (frames < 0) throw new IllegalArgumentException("Número de molduras negativo: " + frames);
+        this.name = name;
+        this.frames = frames;
+        this.pages = new int[Math.max(frames, 1)];
+        this.index = new IntIntMap(frames);
+        this.dirty = new FrameBits(frames);
+        Arrays.fill(pages, EMPTY);
+    }
+
+    @Override public String name() {
+        return name;
+    }
+
+    @Override public int frames() {
+        return frames;
+    }
+
+    @Override public int slotOf(int page) {
+        return index.get(page, -1);
+    }
+
+    @Override public int pageAt(int slot) {
+        return pages[slot];
+    }
+
+    @Override public void onHit(int slot, long t) {
+    }
+
+    @Override public void onWrite(int slot, long t) {
+        dirty.set(slot);
+    }
+
+    @Override public boolean isDirty(int slot) {
+        return dirty.get(slot);
+    }
+
+    @Override public long writebacks() {
+        return writebacks;
+    }
+
+    /** Grava a página da moldura de volta, se estiver suja; ela continua na memória, agora limpa. */
+    protected void clean(int slot) {
+        if (dirty.get(slot)) {
+            dirty.clear(slot);
+            writebacks++;
+        }
+    }
+
+    @Override public final int evict(int page, long t) {
+        if (used < frames) return used++;
+        int v = victim(page, t);
+        clean(v);
+        index.remove(pages[v]);
+        pages[v] = EMPTY;
+        return v;
+    }
+
+    @Override public final void onLoad(int slot, int page, long t) {
+        pages[slot] = page;
+        index.put(page, slot);
+        loaded(slot, t);
+    }
+
+    /** Escolhe a moldura vítima (memória cheia) para a página {@code page} que vai entrar. */
+    protected abstract int victim(int page, long t);
+
+    /** Chamado depois que a página entrou na moldura. */
+    protected void loaded(int slot, long t) {
+    }
+}
@@ -0,0 +1,142 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Leitura incremental de traces de endereços virtuais (em bytes), um acesso por linha, nos
+ * formatos das ferramentas de captura:
+ *   valgrind lackey - " L 04222cac,4", " S 7ff000398,8", " M 0421c7f0,4", "I  0400d7d4,8";
+ *   pin (pinatrace)  - "0x7f1c2d3e4f50: W 0x7ffe12345678";
+ *   perf script -F addr, ou uma lista simples - "7ffc8a3b1e20", "W 0x601040".
+ * Os endereços são sempre hexadecimais (com ou sem 0x); ",tamanho" no fim é ignorado. Um
+ * primeiro campo terminado em ':' (endereço da instrução) é pulado. S, W e M (modificação)
+ * são escritas; I, L e R, leituras. Linhas vazias, comentários (#) e mensagens do valgrind
+ * ("==123== ...") são puladas.
+ */
+public class AddressReader implements Closeable {
+    private static final int MAX_LINE = 4096;
+
+    private final InputStream in;
+    private final byte[] buf = new byte[1 << 16];
+    private int pos, limit;
+    private final byte[] line = new byte[MAX_LINE];
+    private long lineNumber;
+    private long address;
+    private boolean write;
+
+    public AddressReader(InputStream in) {
+        this.in = in;
+    }
+
+    /** Abre o arquivo, ou stdin quando o caminho é "-". */
+    public static AddressReader open(String path) throws IOException {
+        return new AddressReader("-".equals(path) ? System.in : Files.newInputStream(Path.of(path)));
+    }
+
+    /** Avança para o próximo acesso; false no fim do trace. */
+    public boolean next() {
+        try {
+            int len;
+            while ((len = readLine()) >= 0) {
+                if (parse(len)) return true;
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Endereço virtual do acesso atual. */
+    public long address() {
+        return address;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    /** Linhas lidas até agora. */
+    public long lines() {
+        return lineNumber;
+    }
+
+    private int readLine() throws IOException {
+        int len = 0;
+        boolean any = false;
+        while (true) {
+            if (pos == limit) {
+                limit = in.read(buf, 0, buf.length);
+                pos = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    if (!any) return -1;
+                    break;
+                }
+            }
+            any = true;
+            byte b = buf[pos++];
+            if (b == '\n') break;
+            if (len < MAX_LINE) line[len++] = b;
+        }
+        lineNumber++;
+        return len;
+    }
+
+    private boolean parse(int len) {
+        int i = skipSpaces(0, len);
+        if (i == len || line[i] == '#' || line[i] == '=') return false;
+        // campo terminado em ':' (endereço da instrução no pinatrace)
+        int end = token(i, len);
+        if (line[end - 1] == ':') {
+            i = skipSpaces(end, len);
+            end = token(i, len);
+        }
+        write = false;
+        if (end - i == 1 && !isHexDigit(line[i])) { // operação: as letras não são dígitos hexadecimais
+            switch (line[i] | 0x20) {
+                case 's', 'w', 'm' -> write = true;
+                case 'i', 'l', 'r' -> { }
+                default -> throw invalid();
+            }
+            i = skipSpaces(end, len);
+            end = token(i, len);
+        }
+        if (i == len) throw invalid();
+        if (end - i > 2 && line[i] == '0' && (line[i + 1] | 0x20) == 'x') i += 2;
+        long a = 0;
+        int digits = 0;
+        for (; i < end && line[i] != ','; i++, digits++) {
+            int d = Character.digit(line[i], 16);
+            if (d < 0 || digits == 16) throw invalid();
+            a = a << 4 | d;
+        }
+        if (digits == 0) throw invalid();
+        address = a;
+        return true;
+    }
+
+    private static boolean isHexDigit(byte b) {
+        return Character.digit(b, 16) >= 0;
+    }
+
+    private int skipSpaces(int i, int len) {
+        while (i < len && (line[i] == ' ' || line[i] == '\t' || line[i] == '\r')) i++;
+        return i;
+    }
+
+    private int token(int i, int len) {
+        while (i < len && line[i] != ' ' && line[i] != '\t' && line[i] != '\r') i++;
+        return i;
+    }
+
+    private IllegalArgumentException invalid() {
+        return new IllegalArgumentException("Endereço inválido na linha " + lineNumber);
+    }
+
+    @Override public void close() throws IOException {
+        if (in != System.in) in.close();
+    }
+}
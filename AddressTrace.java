@@ -0,0 +1,64 @@
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Trace de endereços virtuais (AddressReader) entregue como fluxo de páginas para um tamanho
+ * de página (PageTranslator): serve em qualquer lugar que aceite um TraceSource.
+ *
+ * Especificação: "tamanho:caminho", ex.: "2m:lackey.txt" ou "4k:-" (stdin); em
+ * TraceSource.open, com o prefixo "addr:".
+ */
+public class AddressTrace implements TraceSource {
+    private final AddressReader in;
+    private final PageTranslator pages;
+    private boolean hasPending, eof;
+    private int pending;
+    private boolean pendingWrite, lastWrite;
+
+    public AddressTrace(AddressReader in, long pageSize) {
+        this.in = in;
+        this.pages = new PageTranslator(pageSize);
+    }
+
+    public static AddressTrace open(String spec) throws IOException {
+        int colon = spec.indexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("Esperado tamanho:caminho, ex.: 4k:trace.txt: " + spec);
+        long size = PageTranslator.parseSize(spec.substring(0, colon));
+        return new AddressTrace(AddressReader.open(spec.substring(colon + 1)), size);
+    }
+
+    public PageTranslator translator() {
+        return pages;
+    }
+
+    @Override public boolean hasNext() {
+        while (!hasPending && !eof) {
+            if (in.next()) {
+                if (pages.push(in.address(), in.isWrite())) hasPending = true;
+            } else {
+                eof = true;
+                hasPending = pages.flush();
+            }
+            if (hasPending) {
+                pending = pages.page();
+                pendingWrite = pages.isWrite();
+            }
+        }
+        return hasPending;
+    }
+
+    @Override public int nextInt() {
+        if (!hasNext()) throw new NoSuchElementException();
+        hasPending = false;
+        lastWrite = pendingWrite;
+        return pending;
+    }
+
+    @Override public boolean isWrite() {
+        return lastWrite;
+    }
+
+    @Override public void close() throws IOException {
+        in.close();
+    }
+}
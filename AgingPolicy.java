@@ -0,0 +1,51 @@
+/**
+ * Aging: cada moldura tem um contador de n bits; a cada tick o contador desloca uma
+ * posição para a direita e o bit R entra no bit mais alto. A vítima é a de menor valor
+ * (R do intervalo atual, contador), ou seja, a usada há mais tempo segundo os últimos
+ * n ticks. Escolher a vítima varre as molduras: O(F) por falta.
+ */
+public class AgingPolicy extends TickPolicy {
+    public static final int DEFAULT_BITS = 8;
+
+    private final int bits;
+    private final int[] counter;
+
+    public AgingPolicy(int frames) {
+        this(frames, DEFAULT_BITS, 0);
+    }
+
+    public AgingPolicy(int frames, int bits, int tickInterval) {
+        super("Aging", frames, tickInterval);
+        if (bits < 1 || bits > 31) throw new IllegalArgumentException("Bits do Aging devem estar entre 1 e 31: " + bits);
+        this.bits = bits;
+        this.counter = new int[Math.max(frames, 1)];
+    }
+
+    @Override protected void tick(long now) {
+        int top = 1 << (bits - 1);
+        for (int i = 0; i < used; i++) {
+            counter[i] = (counter[i] >>> 1) | (referenced.get(i) ? top : 0);
+        }
+        referenced.clearAll();
+    }
+
+    @Override protected int victim(int page, long t) {
+        advance(t);
+        int best = 0;
+        int bestValue = Integer.MAX_VALUE;
+        for (int i = 0; i < frames; i++) {
+            int value = (referenced.get(i) ? 1 << bits : 0) | counter[i]; // R é o intervalo mais recente
+            if (value < bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        advance(t);
+        counter[slot] = 0;
+        super.loaded(slot, t);
+    }
+}
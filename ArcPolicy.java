@@ -0,0 +1,69 @@
+/**
+ * ARC (Adaptive Replacement Cache, Megiddo e Modha): T1 guarda as páginas vistas uma vez
+ * e T2 as vistas mais de uma vez, ambas em ordem LRU; B1 e B2 lembram as páginas que
+ * saíram de cada uma (fantasmas, sem moldura). Um acerto em B1 aumenta o alvo p de T1,
+ * um acerto em B2 o diminui. Todas as listas são IntLinkedSet: O(1) por referência.
+ */
+public class ArcPolicy extends AbstractPolicy {
+    private final IntLinkedSet t1, t2, b1, b2;
+    private int p;           // tamanho alvo de T1
+    private boolean toT2;    // a página da falta atual estava em B1/B2
+
+    public ArcPolicy(int frames) {
+        super("ARC", frames);
+        t1 = new IntLinkedSet(frames);
+        t2 = new IntLinkedSet(frames);
+        b1 = new IntLinkedSet(frames);
+        b2 = new IntLinkedSet(frames);
+    }
+
+    @Override public void onHit(int slot, long t) {
+        int page = pages[slot];
+        if (t1.remove(page)) t2.addLast(page);
+        else t2.moveToLast(page);
+    }
+
+    // Com a memória livre não há fantasmas, então todo o ajuste de p e das listas B
+    // acontece aqui, quando a memória está cheia.
+    @Override protected int victim(int page, long t) {
+        if (b1.contains(page)) {
+            p = Math.min(frames, p + Math.max(b2.size() / b1.size(), 1));
+            b1.remove(page);
+            toT2 = true;
+            return replace(false);
+        }
+        if (b2.contains(page)) {
+            p = Math.max(0, p - Math.max(b1.size() / b2.size(), 1));
+            b2.remove(page);
+            toT2 = true;
+            return replace(true);
+        }
+        if (t1.size() + b1.size() == frames) {
+            if (t1.size() < frames) {
+                b1.removeFirst();
+                return replace(false);
+            }
+            return index.get(t1.removeFirst(), -1); // T1 ocupa tudo: sai sem virar fantasma
+        }
+        if (t1.size() + t2.size() + b1.size() + b2.size() == 2 * frames) b2.removeFirst();
+        return replace(false);
+    }
+
+    private int replace(boolean inB2) {
+        int page;
+        if (!t1.isEmpty() && ((inB2 && t1.size() == p) || t1.size() > p)) {
+            page = t1.removeFirst();
+            b1.addLast(page);
+        } else {
+            page = t2.removeFirst();
+            b2.addLast(page);
+        }
+        return index.get(page, -1);
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        if (toT2) t2.addLast(pages[slot]);
+        else t1.addLast(pages[slot]);
+        toT2 = false;
+    }
+}
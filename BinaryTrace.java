@@ -0,0 +1,242 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Formato binário compacto de trace.
+ *
+ * Cabeçalho (20 bytes, big-endian):
+ *   "PRTB" | versão (u8) | flags (u8) | reservado (u16) | tamanho da página em bytes (u32, 0 = desconhecido)
+ *   | número de referências (u64)
+ * Corpo: para cada referência, a diferença para a anterior (começando de 0) em zigzag + varint
+ * (1 byte para saltos de até ±63 páginas, no máximo 5 bytes).
+ * Com a flag FLAG_WRITES (bit 0), o valor do varint é (zigzag << 1) | escrita: 1 byte para
+ * saltos de até ±31 páginas, ainda no máximo 5 bytes. O Writer sempre grava nesse formato;
+ * arquivos sem a flag são lidos como só leituras. O processo das referências não é gravado:
+ * traces com vários processos ficam no formato texto.
+ *
+ * Conversão a partir do formato texto:
+ *   java BinaryTrace trace.txt trace.prtb [tamanhoPagina]
+ *   (use "-" como entrada para ler de stdin)
+ */
+public class BinaryTrace {
+    static final int MAGIC = 0x50525442; // "PRTB"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 20;
+    static final int FLAG_WRITES = 1;
+    private static final int COUNT_OFFSET = 12;
+
+    /** true se o arquivo começa com o cabeçalho do formato binário. */
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(4);
+            while (head.hasRemaining() && ch.read(head) > 0) { }
+            return !head.hasRemaining() && head.getInt(0) == MAGIC;
+        }
+    }
+
+    /** Grava todas as referências do fluxo em {@code out}; devolve quantas foram escritas. */
+    public static long write(Path out, PrimitiveIterator.OfInt refs, int pageSize) throws IOException {
+        TraceSource src = refs instanceof TraceSource s ? s : null;
+        try (Writer w = new Writer(out, pageSize)) {
+            while (refs.hasNext()) {
+                int r = refs.nextInt();
+                if (src != null && src.pid() != 0) {
+                    throw new IllegalArgumentException("O formato binário não guarda o processo das referências");
+                }
+                w.write(r, src != null && src.isWrite());
+            }
+            return w.count();
+        }
+    }
+
+    static int zigzag(int d) {
+        return (d << 1) ^ (d >> 31);
+    }
+
+    static int unzigzag(int z) {
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    // ---------- Escrita ----------
+    public static class Writer implements Closeable {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16);
+        private int prev;
+        private long count;
+
+        public Writer(Path out, int pageSize) throws IOException {
+            ch = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buf.putInt(MAGIC).put((byte) VERSION).put((byte) FLAG_WRITES).putShort((short) 0)
+               .putInt(pageSize).putLong(0); // contagem corrigida no close()
+        }
+
+        public void write(int ref) throws IOException {
+            write(ref, false);
+        }
+
+        public void write(int ref, boolean write) throws IOException {
+            if (buf.remaining() < 5) flush();
+            int z = zigzag(ref - prev); // diferença com overflow é desfeita pela soma na leitura
+            prev = ref;
+            long v = (z & 0xFFFFFFFFL) << 1 | (write ? 1 : 0); // até 33 bits
+            while ((v & ~0x7FL) != 0) {
+                buf.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            buf.put((byte) v);
+            count++;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override public void close() throws IOException {
+            try {
+                flush();
+                ByteBuffer c = ByteBuffer.allocate(8).putLong(0, count);
+                ch.write(c, COUNT_OFFSET);
+            } finally {
+                ch.close();
+            }
+        }
+    }
+
+    // ---------- Leitura ----------
+    /**
+     * Percorre o arquivo mapeado em memória decodificando as referências uma a uma,
+     * sem alocação por elemento.
+     */
+    public static class Reader implements TraceSource {
+        private final FileChannel ch;
+        private final long fileSize;
+        private final int pageSize;
+        private final long count;
+        private final boolean writes; // FLAG_WRITES no cabeçalho
+        private ByteBuffer buf;
+        private long bufStart;  // posição no arquivo de buf[0]
+        private long read;
+        private int prev;
+        private boolean lastWrite;
+
+        private Reader(FileChannel ch) throws IOException {
+            this.ch = ch;
+            this.fileSize = ch.size();
+            if (fileSize < HEADER_SIZE) throw new IOException("Arquivo não é um trace binário (muito curto)");
+            ByteBuffer head = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (head.getInt() != MAGIC) throw new IOException("Arquivo não é um trace binário");
+            int version = head.get() & 0xff;
+            if (version != VERSION) throw new IOException("Versão de trace binário não suportada: " + version);
+            writes = (head.get() & FLAG_WRITES) != 0;
+            head.getShort();
+            pageSize = head.getInt();
+            count = head.getLong();
+            map(HEADER_SIZE);
+        }
+
+        public static Reader open(Path path) throws IOException {
+            FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                return new Reader(ch);
+            } catch (IOException e) {
+                ch.close();
+                throw e;
+            }
+        }
+
+        /** Tamanho da página registrado no cabeçalho (0 = desconhecido). */
+        public int pageSize() {
+            return pageSize;
+        }
+
+        /** Número total de referências do arquivo. */
+        public long count() {
+            return count;
+        }
+
+        /** Lê o restante para um IntTrace. */
+        public IntTrace readAll() {
+            if (count - read > Integer.MAX_VALUE - 8) throw new IllegalStateException("Trace grande demais para um IntTrace");
+            IntTrace t = new IntTrace((int) (count - read));
+            while (hasNext()) {
+                int r = nextInt();
+                t.add(r, lastWrite);
+            }
+            return t;
+        }
+
+        private void map(long from) throws IOException {
+            long len = Math.min(TraceReader.MAP_WINDOW, fileSize - from);
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, from, len);
+            bufStart = from;
+        }
+
+        @Override public boolean hasNext() {
+            return read < count;
+        }
+
+        @Override public int nextInt() {
+            if (read >= count) throw new NoSuchElementException();
+            // um varint tem até 5 bytes: remapeia antes de cruzar o fim da janela
+            if (buf.remaining() < 5 && bufStart + buf.limit() < fileSize) {
+                try {
+                    map(bufStart + buf.position());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            long v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (!buf.hasRemaining()) throw new IllegalStateException("Trace binário truncado");
+                b = buf.get();
+                v |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            read++;
+            if (writes) {
+                lastWrite = (v & 1) != 0;
+                v >>>= 1;
+            }
+            prev += unzigzag((int) v);
+            return prev;
+        }
+
+        @Override public boolean isWrite() {
+            return lastWrite;
+        }
+
+        @Override public void close() throws IOException {
+            ch.close();
+        }
+    }
+
+    // ---------- Conversor ----------
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: java BinaryTrace <trace.txt|-> <saida.prtb> [tamanhoPagina]");
+            System.exit(2);
+        }
+        int pageSize = args.length >= 3 ? Integer.parseInt(args[2]) : 0;
+        long n;
+        try (TraceReader in = TraceReader.openOrStdin(args[0])) {
+            n = write(Path.of(args[1]), in, pageSize);
+        }
+        System.out.printf("%d referências gravadas em %s%n", n, args[1]);
+    }
+}
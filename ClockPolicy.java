@@ -0,0 +1,35 @@
+/**
+ * Relógio (segunda chance): um bit de uso por moldura e um ponteiro circular que zera
+ * os bits até achar uma moldura com bit 0.
+ */
+public class ClockPolicy extends AbstractPolicy {
+    protected final FrameBits referenced;
+    protected int hand;
+
+    public ClockPolicy(int frames) {
+        this("Relógio", frames);
+    }
+
+    protected ClockPolicy(String name, int frames) {
+        super(name, frames);
+        referenced = new FrameBits(frames);
+    }
+
+    @Override public void onHit(int slot, long t) {
+        referenced.set(slot); // acerto: marca bit de uso
+    }
+
+    @Override protected int victim(int page, long t) {
+        while (referenced.get(hand)) { // segunda chance
+            referenced.clear(hand);
+            hand = (hand + 1) % frames;
+        }
+        int v = hand;
+        hand = (hand + 1) % frames;
+        return v;
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        referenced.set(slot);
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * CLOCK-Pro (Jiang, Chen e Zhang): um único relógio com páginas quentes, frias residentes
+ * e frias em período de teste (já expulsas, só o número da página). Três ponteiros:
+ *   mão fria   - procura a vítima: fria referenciada vira quente, fria sem referência
+ *                sai da memória e fica em teste;
+ *   mão quente - mantém as quentes dentro do alvo, rebaixando as não referenciadas;
+ *   mão teste  - descarta páginas em teste antigas (e diminui o alvo de frias).
+ * Uma falta numa página em teste aumenta o alvo de frias e traz a página já quente.
+ * Segue a versão de referência dos autores, exceto que a mão teste não empurra a mão fria
+ * (na referência isso pode recursar sem fim com poucas molduras); custo O(1) amortizado
+ * por referência.
+ */
+public class ClockProPolicy extends AbstractPolicy {
+    private static final byte COLD = 0, HOT = 1, TEST = 2;
+    private static final int NIL = -1;
+
+    // relógio: lista circular de nós sobre arrays (residentes + em teste, no máximo 2x frames)
+    private final int[] key, next, prev;
+    private final byte[] type;
+    private final boolean[] ref;
+    private int freeList = NIL, allocated;
+
+    private final int[] nodeOfSlot;
+    private final IntIntMap testNode; // página em teste -> nó
+    private int handHot = NIL, handCold = NIL, handTest = NIL;
+    private int countHot, countCold, countTest;
+    private int coldTarget;
+
+    private boolean missHandled; // victim() já tratou a página da falta atual
+    private int reused = NIL;    // nó da página em teste que voltou
+    private int evicted;         // moldura que a mão fria liberou nesta falta
+
+    public ClockProPolicy(int frames) {
+        super("CLOCK-Pro", frames);
+        int nodes = 2 * Math.max(frames, 1) + 2;
+        key = new int[nodes];
+        next = new int[nodes];
+        prev = new int[nodes];
+        type = new byte[nodes];
+        ref = new boolean[nodes];
+        nodeOfSlot = new int[Math.max(frames, 1)];
+        testNode = new IntIntMap(frames);
+        coldTarget = Math.max(1, frames / 100); // como o LIRS: começa com ~1% de frias e se adapta
+    }
+
+    @Override public void onHit(int slot, long t) {
+        ref[nodeOfSlot[slot]] = true;
+    }
+
+    @Override protected int victim(int page, long t) {
+        reused = takeTest(page);
+        missHandled = true;
+        evicted = NIL;
+        while (countHot + countCold >= frames) runHandCold();
+        return evicted;
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        int n = missHandled ? reused : takeTest(pages[slot]);
+        missHandled = false;
+        reused = NIL;
+        boolean hot = n != NIL;
+        if (!hot) n = allocate();
+        key[n] = pages[slot];
+        ref[n] = false;
+        type[n] = hot ? HOT : COLD;
+        if (handHot == NIL) {
+            next[n] = prev[n] = n;
+            handHot = handCold = handTest = n;
+        } else {
+            // entra logo atrás da mão quente (a "cabeça" do relógio)
+            int before = prev[handHot];
+            next[before] = n;
+            prev[n] = before;
+            next[n] = handHot;
+            prev[handHot] = n;
+        }
+        if (handCold == handHot) handCold = prev[handHot];
+        if (handTest == handHot) handTest = prev[handHot];
+        nodeOfSlot[slot] = n;
+        if (hot) countHot++;
+        else countCold++;
+    }
+
+    // Página em teste que voltou: sai do relógio (será reinserida quente) e aumenta o alvo de frias.
+    private int takeTest(int page) {
+        int n = testNode.get(page, NIL);
+        if (n == NIL) return NIL;
+        testNode.remove(page);
+        countTest--;
+        if (coldTarget < frames) coldTarget++;
+        detach(n);
+        return n;
+    }
+
+    private void runHandCold() {
+        int n = handCold;
+        if (type[n] == COLD) {
+            if (ref[n]) {
+                type[n] = HOT;
+                ref[n] = false;
+                countCold--;
+                countHot++;
+            } else {
+                type[n] = TEST;
+                countCold--;
+                countTest++;
+                testNode.put(key[n], n);
+                evicted = index.get(key[n], -1);
+                while (countTest > frames) runHandTest();
+            }
+        }
+        handCold = next[handCold];
+        while (countHot > frames - coldTarget) runHandHot();
+    }
+
+    private void runHandHot() {
+        if (handHot == handTest) runHandTest();
+        int n = handHot;
+        if (type[n] == HOT) {
+            if (ref[n]) {
+                ref[n] = false;
+            } else {
+                type[n] = COLD;
+                countHot--;
+                countCold++;
+            }
+        }
+        handHot = next[handHot];
+    }
+
+    private void runHandTest() {
+        int n = handTest;
+        if (type[n] == TEST) {
+            testNode.remove(key[n]);
+            detach(n);
+            free(n);
+            countTest--;
+            if (coldTarget > 1) coldTarget--;
+        }
+        handTest = next[handTest];
+    }
+
+    // Tira o nó do relógio; ponteiros sobre ele recuam para o anterior.
+    private void detach(int n) {
+        int p = prev[n];
+        if (handHot == n) handHot = p;
+        if (handCold == n) handCold = p;
+        if (handTest == n) handTest = p;
+        if (p == n) {
+            handHot = handCold = handTest = NIL;
+            return;
+        }
+        next[p] = next[n];
+        prev[next[n]] = p;
+    }
+
+    private int allocate() {
+        if (freeList != NIL) {
+            int n = freeList;
+            freeList = next[n];
+            return n;
+        }
+        return allocated++;
+    }
+
+    private void free(int n) {
+        next[n] = freeList;
+        freeList = n;
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.Locale;
+
+/**
+ * Modelo de custo para o tempo efetivo de acesso (TEA), em nanossegundos:
+ *   TEA = acesso à memória + (faltas x serviço da falta + gravações x gravação de volta) / referências
+ * Toda referência paga o acesso à memória; cada falta paga o serviço da falta (leitura da
+ * página) e cada página suja expulsa paga uma gravação no disco.
+ *
+ * Especificação: "mem=200,fault=8e6,writeback=8e6" (chaves ausentes usam o padrão).
+ */
+public class CostModel {
+    public static final CostModel DEFAULT = new CostModel(200, 8_000_000, 8_000_000);
+
+    public final double memoryNs, faultNs, writebackNs;
+
+    public CostModel(double memoryNs, double faultNs, double writebackNs) {
+        if (memoryNs < 0 || faultNs < 0 || writebackNs < 0) throw new IllegalArgumentException("Custos não podem ser negativos");
+        this.memoryNs = memoryNs;
+        this.faultNs = faultNs;
+        this.writebackNs = writebackNs;
+    }
+
+    public static CostModel parse(String spec) {
+        double mem = DEFAULT.memoryNs, fault = DEFAULT.faultNs, writeback = DEFAULT.writebackNs;
+        for (String kv : spec.split(",")) {
+            if (kv.isBlank()) continue;
+            int eq = kv.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Parâmetro sem valor: " + kv);
+            String key = kv.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            double value = Double.parseDouble(kv.substring(eq + 1).trim());
+            switch (key) {
+                case "mem" -> mem = value;
+                case "fault" -> fault = value;
+                case "writeback" -> writeback = value;
+                default -> throw new IllegalArgumentException("Custo desconhecido: " + key);
+            }
+        }
+        return new CostModel(mem, fault, writeback);
+    }
+
+    /** Tempo efetivo de acesso do resultado, em ns (0 se não houve referências). */
+    public double effectiveAccessTime(PageReplacementSimulator.Result r) {
+        long refs = r.faults + r.hits;
+        if (refs == 0) return 0;
+        return memoryNs + (r.faults * faultNs + r.writebacks * writebackNs) / refs;
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Relógio com bit de modificação (segunda chance melhorada): as molduras caem em quatro
+ * classes pelo par (R, M) e a vítima é a primeira da menor classe a partir do ponteiro.
+ *   1ª volta: procura (0,0) sem mexer em nada;
+ *   2ª volta: procura (0,1), zerando R das molduras que passa;
+ *   repete (agora todos os R estão zerados).
+ * Prefere expulsar páginas limpas, que não precisam ser gravadas de volta.
+ */
+public class EnhancedClockPolicy extends ClockPolicy {
+    public EnhancedClockPolicy(int frames) {
+        super("Relógio (R,M)", frames);
+    }
+
+    @Override protected int victim(int page, long t) {
+        while (true) {
+            for (int i = 0; i < frames; i++, hand = (hand + 1) % frames) {
+                if (!referenced.get(hand) && !dirty.get(hand)) return take();
+            }
+            for (int i = 0; i < frames; i++, hand = (hand + 1) % frames) {
+                if (!referenced.get(hand) && dirty.get(hand)) return take();
+                referenced.clear(hand);
+            }
+        }
+    }
+
+    private int take() {
+        int v = hand;
+        hand = (hand + 1) % frames;
+        return v;
+    }
+}
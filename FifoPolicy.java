@@ -0,0 +1,21 @@
+/**
+ * FIFO: as molduras são preenchidas e substituídas em rodízio, então a vítima é sempre
+ * a página carregada há mais tempo.
+ */
+public class FifoPolicy extends AbstractPolicy {
+    private int oldest; // moldura com a página mais antiga
+
+    public FifoPolicy(int frames) {
+        super("FIFO", frames);
+    }
+
+    @Override public StepLog.Order displayOrder() {
+        return StepLog.Order.LOAD; // fila: da carregada há mais tempo para a mais nova
+    }
+
+    @Override protected int victim(int page, long t) {
+        int v = oldest;
+        oldest = (oldest + 1) % frames;
+        return v;
+    }
+}
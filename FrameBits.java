@@ -0,0 +1,41 @@
+import java.util.Arrays;
+
+/**
+ * Um bit por moldura empacotado em longs (bits de uso R e de modificação M das políticas
+ * de relógio). Zerar todos ou achar o próximo bit ligado custa O(F/64).
+ */
+public class FrameBits {
+    private final long[] words;
+
+    public FrameBits(int frames) {
+        words = new long[(Math.max(frames, 1) + 63) >>> 6];
+    }
+
+    public boolean get(int i) {
+        return (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public void set(int i) {
+        words[i >>> 6] |= 1L << i;
+    }
+
+    public void clear(int i) {
+        words[i >>> 6] &= ~(1L << i);
+    }
+
+    public void clearAll() {
+        Arrays.fill(words, 0);
+    }
+
+    /** Primeiro bit ligado em posição >= from, ou -1. */
+    public int nextSetBit(int from) {
+        int w = from >>> 6;
+        if (w >= words.length) return -1;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Varredura de número de molduras: simula cada par (política, molduras) em paralelo
+ * sobre o mesmo trace, compartilhado somente para leitura.
+ *
+ * Cada par vira uma tarefa; o índice de próximo uso do Ótimo é calculado uma vez só.
+ * O LRU sai inteiro de uma única passada de {@link StackDistance}, com as mesmas
+ * faltas de simulateLRU.
+ */
+public class FrameSweep {
+    private final List<String> algorithms;
+    private final int minFrames, maxFrames;
+    private final long[][] faults; // faults[algoritmo][molduras - minFrames]
+
+    private FrameSweep(List<String> algorithms, int minFrames, int maxFrames) {
+        this.algorithms = algorithms;
+        this.minFrames = minFrames;
+        this.maxFrames = maxFrames;
+        this.faults = new long[algorithms.size()][maxFrames - minFrames + 1];
+    }
+
+    public static FrameSweep run(IntTrace trace, int minFrames, int maxFrames, int threads)
+            throws InterruptedException {
+        return run(trace, Policies.names(), minFrames, maxFrames, threads);
+    }
+
+    public static FrameSweep run(IntTrace trace, List<String> algorithms, int minFrames, int maxFrames, int threads)
+            throws InterruptedException {
+        if (minFrames < 0 || maxFrames < minFrames) {
+            throw new IllegalArgumentException("Intervalo de molduras inválido: " + minFrames + ".." + maxFrames);
+        }
+        FrameSweep sweep = new FrameSweep(algorithms, minFrames, maxFrames);
+        int[] next = algorithms.contains("Ótimo") ? OptimalPolicy.nextUseIndex(trace.array(), trace.size()) : null;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int a = 0; a < algorithms.size(); a++) {
+            final long[] col = sweep.faults[a];
+            if ("LRU".equals(algorithms.get(a))) {
+                tasks.add(() -> {
+                    StackDistance sd = StackDistance.compute(trace);
+                    for (int f = minFrames; f <= maxFrames; f++) col[f - minFrames] = sd.faults(f);
+                    return null;
+                });
+            }
+        }
+        // maiores primeiro: as simulações com muitas molduras são as mais longas
+        for (int f = maxFrames; f >= minFrames; f--) {
+            for (int a = 0; a < algorithms.size(); a++) {
+                String name = algorithms.get(a);
+                if ("LRU".equals(name)) continue;
+                final int frames = f;
+                final long[] col = sweep.faults[a];
+                tasks.add(() -> {
+                    ReplacementPolicy policy = "Ótimo".equals(name)
+                            ? new OptimalPolicy(frames, next)
+                            : Policies.create(name, frames);
+                    col[frames - minFrames] = PageReplacementSimulator.simulate(policy, trace, false).faults;
+                    return null;
+                });
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Void> done : pool.invokeAll(tasks)) {
+                try {
+                    done.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falha na varredura", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return sweep;
+    }
+
+    public long faults(int algorithm, int frames) {
+        return faults[algorithm][frames - minFrames];
+    }
+
+    /** CSV: uma linha por número de molduras, uma coluna por algoritmo. */
+    public void printCsv(java.io.PrintStream out) {
+        // nomes com vírgula (ex.: "Relógio (R,M)") vão entre aspas
+        out.println("frames," + algorithms.stream()
+                .map(a -> a.contains(",") ? '"' + a + '"' : a)
+                .collect(java.util.stream.Collectors.joining(",")));
+        StringBuilder line = new StringBuilder();
+        for (int f = minFrames; f <= maxFrames; f++) {
+            line.setLength(0);
+            line.append(f);
+            for (long[] col : faults) line.append(',').append(col[f - minFrames]);
+            out.println(line);
+        }
+    }
+
+    /** Lê "a..b" (ou só "b", equivalente a "1..b"). */
+    public static int[] parseRange(String s) {
+        int dots = s.indexOf("..");
+        if (dots < 0) return new int[] { 1, Integer.parseInt(s.trim()) };
+        return new int[] { Integer.parseInt(s.substring(0, dots).trim()), Integer.parseInt(s.substring(dots + 2).trim()) };
+    }
+}
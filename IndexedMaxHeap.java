@@ -0,0 +1,96 @@
+/**
+ * Heap binário de máximo indexado por moldura (slot 0..capacity-1).
+ * Cada slot tem uma chave long que pode ser alterada em O(log n).
+ * Em caso de empate, o menor slot fica no topo.
+ */
+public class IndexedMaxHeap {
+    private final int[] heap; // posição no heap -> slot
+    private final int[] pos;  // slot -> posição no heap (-1 se ausente)
+    private final long[] key; // slot -> chave
+    private int size;
+
+    public IndexedMaxHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        key = new long[capacity];
+        java.util.Arrays.fill(pos, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int slot) {
+        return pos[slot] >= 0;
+    }
+
+    public long keyOf(int slot) {
+        return key[slot];
+    }
+
+    /** Slot com a maior chave. */
+    public int top() {
+        return heap[0];
+    }
+
+    public void add(int slot, long k) {
+        key[slot] = k;
+        heap[size] = slot;
+        pos[slot] = size;
+        siftUp(size++);
+    }
+
+    public void update(int slot, long k) {
+        key[slot] = k;
+        siftUp(pos[slot]);
+        siftDown(pos[slot]);
+    }
+
+    public void remove(int slot) {
+        int i = pos[slot];
+        int last = heap[--size];
+        pos[slot] = -1;
+        if (i == size) return;
+        heap[i] = last;
+        pos[last] = i;
+        siftUp(i);
+        siftDown(pos[last]);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private boolean above(int a, int b) {
+        return key[a] > key[b] || (key[a] == key[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        int s = heap[i];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (!above(s, heap[p])) break;
+            heap[i] = heap[p];
+            pos[heap[i]] = i;
+            i = p;
+        }
+        heap[i] = s;
+        pos[s] = i;
+    }
+
+    private void siftDown(int i) {
+        int s = heap[i];
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size) break;
+            if (c + 1 < size && above(heap[c + 1], heap[c])) c++;
+            if (!above(heap[c], s)) break;
+            heap[i] = heap[c];
+            pos[heap[i]] = i;
+            i = c;
+        }
+        heap[i] = s;
+        pos[s] = i;
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+/**
+ * Mapa int -> int com endereçamento aberto (sondagem linear), sem boxing.
+ * Usado como índice página -> moldura/posição pelos simuladores.
+ */
+public class IntIntMap {
+    private int[] keys;
+    private int[] vals;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    public IntIntMap(int expected) {
+        int cap = 16;
+        while (cap < expected * 2) cap <<= 1; // carga máxima de 0.5
+        keys = new int[cap];
+        vals = new int[cap];
+        used = new boolean[cap];
+        mask = cap - 1;
+    }
+
+    private static int hash(int k) {
+        // finalizador do murmur3: espalha chaves sequenciais
+        k ^= k >>> 16;
+        k *= 0x85ebca6b;
+        k ^= k >>> 13;
+        k *= 0xc2b2ae35;
+        k ^= k >>> 16;
+        return k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /** Valor associado a {@code key}, ou {@code missing} se ausente. */
+    public int get(int key, int missing) {
+        int i = hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) return vals[i];
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    private int indexOf(int key) {
+        int i = hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    public void put(int key, int val) {
+        int i = hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) { vals[i] = val; return; }
+            i = (i + 1) & mask;
+        }
+        used[i] = true;
+        keys[i] = key;
+        vals[i] = val;
+        if (++size * 2 > keys.length) grow();
+    }
+
+    public boolean remove(int key) {
+        int i = indexOf(key);
+        if (i < 0) return false;
+        // remoção com deslocamento para trás (mantém as cadeias de sondagem sem tombstones)
+        int hole = i;
+        int j = (i + 1) & mask;
+        while (used[j]) {
+            int home = hash(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                vals[hole] = vals[j];
+                hole = j;
+            }
+            j = (j + 1) & mask;
+        }
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys, oldVals = vals;
+        boolean[] oldUsed = used;
+        int cap = oldKeys.length * 2;
+        keys = new int[cap];
+        vals = new int[cap];
+        used = new boolean[cap];
+        mask = cap - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) put(oldKeys[i], oldVals[i]);
+        }
+    }
+}
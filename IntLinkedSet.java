@@ -0,0 +1,134 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Conjunto de ints com ordem de inserção (lista duplamente encadeada sobre arrays),
+ * sem boxing. Inserir no fim, remover qualquer elemento, mover para o fim e tirar o
+ * primeiro custam O(1). Usado pelas filas e listas fantasmas das políticas adaptativas.
+ */
+public class IntLinkedSet {
+    private static final int NIL = -1;
+
+    private int[] keys, prev, next;
+    private final IntIntMap nodeOf;
+    private int head = NIL, tail = NIL;
+    private int freeList = NIL; // nós livres encadeados por next[]
+    private int allocated;      // nós já usados alguma vez
+    private int size;
+
+    public IntLinkedSet() {
+        this(16);
+    }
+
+    public IntLinkedSet(int expected) {
+        int cap = Math.max(expected, 4);
+        keys = new int[cap];
+        prev = new int[cap];
+        next = new int[cap];
+        nodeOf = new IntIntMap(cap);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        return nodeOf.containsKey(key);
+    }
+
+    /** Primeiro (mais antigo) elemento; o conjunto não pode estar vazio. */
+    public int first() {
+        if (head == NIL) throw new NoSuchElementException();
+        return keys[head];
+    }
+
+    /** Último (mais recente) elemento; o conjunto não pode estar vazio. */
+    public int last() {
+        if (tail == NIL) throw new NoSuchElementException();
+        return keys[tail];
+    }
+
+    /** Insere no fim; devolve false se já estava presente (a posição não muda). */
+    public boolean addLast(int key) {
+        if (nodeOf.containsKey(key)) return false;
+        int n = allocate();
+        keys[n] = key;
+        nodeOf.put(key, n);
+        linkLast(n);
+        size++;
+        return true;
+    }
+
+    /** Move para o fim (insere se ausente). */
+    public void moveToLast(int key) {
+        int n = nodeOf.get(key, NIL);
+        if (n == NIL) {
+            addLast(key);
+        } else if (n != tail) {
+            unlink(n);
+            linkLast(n);
+        }
+    }
+
+    public boolean remove(int key) {
+        int n = nodeOf.get(key, NIL);
+        if (n == NIL) return false;
+        nodeOf.remove(key);
+        unlink(n);
+        release(n);
+        size--;
+        return true;
+    }
+
+    /** Remove e devolve o primeiro elemento; o conjunto não pode estar vazio. */
+    public int removeFirst() {
+        int key = first();
+        remove(key);
+        return key;
+    }
+
+    public void clear() {
+        nodeOf.clear();
+        head = tail = freeList = NIL;
+        allocated = size = 0;
+    }
+
+    private int allocate() {
+        if (freeList != NIL) {
+            int n = freeList;
+            freeList = next[n];
+            return n;
+        }
+        if (allocated == keys.length) {
+            int cap = keys.length * 2;
+            keys = Arrays.copyOf(keys, cap);
+            prev = Arrays.copyOf(prev, cap);
+            next = Arrays.copyOf(next, cap);
+        }
+        return allocated++;
+    }
+
+    private void release(int n) {
+        next[n] = freeList;
+        freeList = n;
+    }
+
+    private void linkLast(int n) {
+        prev[n] = tail;
+        next[n] = NIL;
+        if (tail == NIL) head = n;
+        else next[tail] = n;
+        tail = n;
+    }
+
+    private void unlink(int n) {
+        if (prev[n] == NIL) head = next[n];
+        else next[prev[n]] = next[n];
+        if (next[n] == NIL) tail = prev[n];
+        else prev[next[n]] = prev[n];
+    }
+}
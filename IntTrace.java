@@ -0,0 +1,210 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Sequência de referências de página armazenada em um int[] crescente
+ * (4 bytes por referência, sem boxing). Escritas são marcadas num bitset à parte,
+ * criado só quando aparece a primeira; o processo de cada referência fica num int[]
+ * paralelo, criado só quando aparece um processo diferente de 0.
+ */
+public class IntTrace {
+    private int[] data;
+    private int size;
+    private long[] writes; // bit i = referência i é escrita; null se não houver escritas
+    private int[] pids;    // processo de cada referência; null se todas são do processo 0
+
+    public IntTrace() {
+        this(16);
+    }
+
+    public IntTrace(int capacity) {
+        data = new int[Math.max(capacity, 1)];
+    }
+
+    private IntTrace(int[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    /** Envolve o array sem copiar. */
+    public static IntTrace wrap(int... refs) {
+        return new IntTrace(refs, refs.length);
+    }
+
+    public static IntTrace of(List<Integer> refs) {
+        IntTrace t = new IntTrace(refs.size());
+        for (int r : refs) t.add(r);
+        return t;
+    }
+
+    /** Lê o fluxo inteiro; de um TraceSource copia também as marcas de escrita. */
+    public static IntTrace from(PrimitiveIterator.OfInt refs) {
+        IntTrace t = new IntTrace();
+        if (refs instanceof TraceSource src) {
+            while (src.hasNext()) {
+                int r = src.nextInt();
+                t.add(r, src.isWrite(), src.pid());
+            }
+        } else {
+            while (refs.hasNext()) t.add(refs.nextInt());
+        }
+        return t;
+    }
+
+    /**
+     * Lê números separados por espaço, vírgula ou ponto e vírgula (mesmo formato de parseRefs).
+     * Um prefixo W marca escrita (ex.: "W12"); R (leitura) é opcional. "processo:página"
+     * indica o processo (ex.: "3:12" ou "W3:12").
+     */
+    public static IntTrace parse(CharSequence s) {
+        IntTrace t = new IntTrace(Math.max(16, s.length() / 2));
+        int len = s.length();
+        int i = 0;
+        while (i < len) {
+            char c = s.charAt(i);
+            if (isSeparator(c)) { i++; continue; }
+            boolean write = c == 'W' || c == 'w';
+            if (write || c == 'R' || c == 'r') i++;
+            int start = i, colon = -1;
+            while (i < len) {
+                char d = s.charAt(i);
+                if (isSeparator(d)) break;
+                if (d == ':' && colon < 0) colon = i;
+                i++;
+            }
+            if (colon < 0) {
+                t.add(Integer.parseInt(s, start, i, 10), write);
+            } else {
+                int pid = Integer.parseInt(s, start, colon, 10);
+                if (pid < 0) throw new NumberFormatException("Processo negativo: " + pid);
+                int page = colon + 1;
+                char m = page < i ? s.charAt(page) : ' ';
+                if (m == 'W' || m == 'w' || m == 'R' || m == 'r') {
+                    write |= m == 'W' || m == 'w';
+                    page++;
+                }
+                t.add(Integer.parseInt(s, page, i, 10), write, pid);
+            }
+        }
+        return t;
+    }
+
+    static boolean isSeparator(char c) {
+        return c == ',' || c == ';' || Character.isWhitespace(c);
+    }
+
+    public void add(int ref) {
+        if (size == data.length) data = Arrays.copyOf(data, newCapacity(data.length));
+        data[size++] = ref;
+    }
+
+    public void add(int ref, boolean write) {
+        add(ref);
+        if (write) {
+            int i = size - 1;
+            if (writes == null) writes = new long[(data.length + 63) >>> 6];
+            else if ((i >>> 6) >= writes.length) writes = Arrays.copyOf(writes, (data.length + 63) >>> 6);
+            writes[i >>> 6] |= 1L << i;
+        }
+    }
+
+    public void add(int ref, boolean write, int pid) {
+        add(ref, write);
+        if (pid != 0 || pids != null) {
+            int i = size - 1;
+            if (pids == null) pids = new int[data.length];
+            else if (i >= pids.length) pids = Arrays.copyOf(pids, data.length);
+            pids[i] = pid;
+        }
+    }
+
+    private static int newCapacity(int cap) {
+        int grown = cap + (cap >> 1) + 1;
+        if (grown < 0 || grown > Integer.MAX_VALUE - 8) grown = Integer.MAX_VALUE - 8;
+        if (grown <= cap) throw new OutOfMemoryError("Trace grande demais para um int[]");
+        return grown;
+    }
+
+    public int get(int i) {
+        if (i >= size) throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        return data[i];
+    }
+
+    /** true se a referência i é uma escrita. */
+    public boolean isWrite(int i) {
+        return writes != null && (i >>> 6) < writes.length && (writes[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public boolean hasWrites() {
+        return writes != null;
+    }
+
+    /** Processo da referência i (0 em traces sem processo). */
+    public int pid(int i) {
+        return pids != null && i < pids.length ? pids[i] : 0;
+    }
+
+    public boolean hasPids() {
+        return pids != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Array interno (válido até size()); não copiar em laços quentes. */
+    public int[] array() {
+        return data;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /** Libera a folga do buffer depois de uma leitura longa. */
+    public void trimToSize() {
+        if (data.length != size) data = Arrays.copyOf(data, Math.max(size, 1));
+        if (writes != null) writes = Arrays.copyOf(writes, (data.length + 63) >>> 6);
+        if (pids != null) pids = Arrays.copyOf(pids, data.length);
+    }
+
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(data[i]);
+        return list;
+    }
+
+    /** Percorre o trace como fluxo, com as escritas e os processos de cada referência. */
+    public TraceSource iterator() {
+        return new TraceSource() {
+            private int i = 0;
+
+            @Override public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override public int nextInt() {
+                if (i >= size) throw new NoSuchElementException();
+                return data[i++];
+            }
+
+            @Override public boolean isWrite() {
+                return i > 0 && IntTrace.this.isWrite(i - 1);
+            }
+
+            @Override public int pid() {
+                return i > 0 ? IntTrace.this.pid(i - 1) : 0;
+            }
+
+            @Override public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * LIRS (Jiang e Zhang): separa as páginas pela distância de reuso (IRR). As de IRR baixo
+ * (LIR) ficam sempre na memória; as demais (HIR) disputam cerca de 1% das molduras, numa
+ * fila Q de onde sai a vítima. A pilha S guarda a recência: LIR, HIR residentes e HIR já
+ * expulsas (fantasmas, limitadas a 2x as molduras). Uma HIR referenciada enquanto ainda
+ * está em S vira LIR, e a LIR do fundo de S passa a HIR. O(1) amortizado por referência.
+ */
+public class LirsPolicy extends AbstractPolicy {
+    private final IntLinkedSet stack;  // S: fundo = first(), topo = last()
+    private final IntLinkedSet queue;  // Q: HIR residentes, a vítima é first()
+    private final IntLinkedSet ghosts; // HIR não residentes ainda em S, em ordem de saída
+    private final boolean[] lir;       // por moldura
+    private final int lirLimit, ghostLimit;
+    private int lirCount;
+
+    public LirsPolicy(int frames) {
+        super("LIRS", frames);
+        int hir = Math.max(1, frames / 100);
+        lirLimit = Math.max(1, frames - hir);
+        ghostLimit = 2 * Math.max(frames, 1);
+        stack = new IntLinkedSet(frames + ghostLimit);
+        queue = new IntLinkedSet(frames);
+        ghosts = new IntLinkedSet(ghostLimit + 1);
+        lir = new boolean[Math.max(frames, 1)];
+    }
+
+    @Override public void onHit(int slot, long t) {
+        int page = pages[slot];
+        if (lir[slot]) {
+            stack.moveToLast(page);
+            prune();
+        } else if (stack.contains(page)) {
+            stack.moveToLast(page);
+            queue.remove(page);
+            promote(slot);
+        } else {
+            stack.addLast(page);
+            queue.moveToLast(page);
+        }
+    }
+
+    @Override protected int victim(int page, long t) {
+        int out;
+        if (!queue.isEmpty()) {
+            out = queue.removeFirst();
+            if (stack.contains(out)) {
+                ghosts.addLast(out);
+                if (ghosts.size() > ghostLimit) stack.remove(ghosts.removeFirst());
+            }
+        } else {
+            // só acontece quando não sobra moldura para HIR (1 moldura): sai a LIR do fundo
+            out = stack.removeFirst();
+            lirCount--;
+            prune();
+        }
+        int slot = index.get(out, -1);
+        lir[slot] = false;
+        return slot;
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        int page = pages[slot];
+        if (lirCount < lirLimit) { // aquecimento: as primeiras páginas viram LIR
+            lir[slot] = true;
+            lirCount++;
+            ghosts.remove(page);
+            stack.moveToLast(page);
+        } else if (ghosts.remove(page)) {
+            stack.moveToLast(page);
+            promote(slot);
+        } else {
+            stack.addLast(page);
+            queue.addLast(page);
+        }
+    }
+
+    // A HIR da moldura (já no topo de S) vira LIR; a LIR do fundo de S vira HIR e vai para Q.
+    private void promote(int slot) {
+        lir[slot] = true;
+        int bottom = stack.removeFirst();
+        lir[index.get(bottom, -1)] = false;
+        queue.addLast(bottom);
+        prune();
+    }
+
+    // Remove as HIR do fundo de S até o fundo ser uma LIR.
+    private void prune() {
+        while (!stack.isEmpty()) {
+            int bottom = stack.first();
+            int slot = index.get(bottom, -1);
+            if (slot >= 0 && lir[slot]) return;
+            stack.removeFirst();
+            if (slot < 0) ghosts.remove(bottom);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+/**
+ * Mapa long -> int com endereçamento aberto (sondagem linear), sem boxing.
+ * Usado para chaves compostas, ex.: (processo, página) -> identificador denso.
+ */
+public class LongIntMap {
+    private long[] keys;
+    private int[] vals;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public LongIntMap() {
+        this(16);
+    }
+
+    public LongIntMap(int expected) {
+        int cap = 16;
+        while (cap < expected * 2) cap <<= 1; // carga máxima de 0.5
+        keys = new long[cap];
+        vals = new int[cap];
+        used = new boolean[cap];
+        mask = cap - 1;
+    }
+
+    private static int hash(long k) {
+        // finalizador do murmur3 de 64 bits
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return (int) k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Valor associado a {@code key}, ou {@code missing} se ausente. */
+    public int get(long key, int missing) {
+        int i = hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) return vals[i];
+            i = (i + 1) & mask;
+        }
+        return missing;
+    }
+
+    public void put(long key, int val) {
+        int i = hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) { vals[i] = val; return; }
+            i = (i + 1) & mask;
+        }
+        used[i] = true;
+        keys[i] = key;
+        vals[i] = val;
+        if (++size * 2 > keys.length) grow();
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldVals = vals;
+        boolean[] oldUsed = used;
+        int cap = oldKeys.length * 2;
+        keys = new long[cap];
+        vals = new int[cap];
+        used = new boolean[cap];
+        mask = cap - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) put(oldKeys[i], oldVals[i]);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Ótimo com janela limitada: só conhece as próximas {@code window} referências, então serve
+ * para fluxos e traces maiores que a memória. Substitui a página cujo próximo uso dentro da
+ * janela é o mais distante; páginas que não aparecem na janela saem antes, em ordem LRU.
+ * Com janela 0 é o LRU; com janela >= tamanho do trace, o Ótimo.
+ *
+ * A janela é um anel de window + 1 posições com um índice de próximo uso rolante: quando a
+ * referência de uma posição entra (ahead), ela vira o próximo uso da ocorrência anterior da
+ * mesma página no anel e, se essa página está na memória sem próximo uso conhecido, a chave
+ * dela no heap é atualizada. A chave de uma moldura é o próximo uso, ou Long.MAX_VALUE menos
+ * o último uso quando a página não aparece na janela (maior que qualquer posição, e a usada
+ * há mais tempo fica no topo). O(log F) por referência; memória O(F + window).
+ */
+public class LookaheadOptimalPolicy extends AbstractPolicy {
+    private static final long NONE = -1;
+
+    private final int window;
+    private final int ring;               // window + 1
+    private final int[] pageAt;           // página de cada posição do anel
+    private final long[] posAt;           // posição do trace de cada posição do anel
+    private final long[] nextUse;         // próximo uso (posição do trace) dentro da janela, ou NONE
+    private final IntIntMap latest = new IntIntMap(); // página -> posição do anel da ocorrência mais recente
+    private final IndexedMaxHeap byNextUse;
+    private long now = -1;                // última posição processada
+
+    public LookaheadOptimalPolicy(int frames, int window) {
+        super("Ótimo (janela " + window + ")", frames);
+        if (window < 0) throw new IllegalArgumentException("Janela de lookahead negativa: " + window);
+        this.window = window;
+        this.ring = window + 1;
+        this.pageAt = new int[ring];
+        this.posAt = new long[ring];
+        this.nextUse = new long[ring];
+        java.util.Arrays.fill(posAt, -1);
+        this.byNextUse = new IndexedMaxHeap(Math.max(frames, 1));
+    }
+
+    @Override public int lookahead() {
+        return window;
+    }
+
+    @Override public void ahead(int page, long pos) {
+        int i = (int) (pos % ring);
+        if (posAt[i] >= 0 && latest.get(pageAt[i], -1) == i) latest.remove(pageAt[i]); // posição já processada sai
+        pageAt[i] = page;
+        posAt[i] = pos;
+        nextUse[i] = NONE;
+        int prev = latest.get(page, -1);
+        if (prev >= 0) nextUse[prev] = pos;
+        if (prev < 0 || posAt[prev] <= now) {
+            // a página não tinha ocorrência pendente: se está na memória, agora tem próximo uso
+            int slot = slotOf(page);
+            if (slot >= 0) byNextUse.update(slot, pos);
+        }
+        latest.put(page, i);
+    }
+
+    private long keyAt(long t) {
+        int i = (int) (t % ring);
+        long next = posAt[i] == t ? nextUse[i] : NONE;
+        return next != NONE ? next : Long.MAX_VALUE - t;
+    }
+
+    @Override public void onHit(int slot, long t) {
+        now = t;
+        byNextUse.update(slot, keyAt(t));
+    }
+
+    @Override protected int victim(int page, long t) {
+        return byNextUse.top();
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        now = t;
+        if (byNextUse.contains(slot)) byNextUse.update(slot, keyAt(t));
+        else byNextUse.add(slot, keyAt(t));
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * LRU: lista circular duplamente encadeada sobre as molduras, com sentinela no índice
+ * frames; next[sentinela] é a menos recentemente usada e prev[sentinela] a mais recente.
+ */
+public class LruPolicy extends AbstractPolicy {
+    private final int sentinel;
+    private final int[] prev, next;
+
+    public LruPolicy(int frames) {
+        super("LRU", frames);
+        sentinel = Math.max(frames, 1);
+        prev = new int[sentinel + 1];
+        next = new int[sentinel + 1];
+        prev[sentinel] = next[sentinel] = sentinel;
+    }
+
+    @Override public StepLog.Order displayOrder() {
+        return StepLog.Order.USE; // da menos para a mais recentemente usada
+    }
+
+    @Override public void onHit(int slot, long t) {
+        if (slot != prev[sentinel]) { // atualiza acesso: move para o fim
+            unlink(slot);
+            linkLast(slot);
+        }
+    }
+
+    @Override protected int victim(int page, long t) {
+        int v = next[sentinel]; // menos recentemente usada
+        unlink(v);
+        return v;
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        linkLast(slot);
+    }
+
+    private void unlink(int slot) {
+        next[prev[slot]] = next[slot];
+        prev[next[slot]] = prev[slot];
+    }
+
+    private void linkLast(int slot) {
+        prev[slot] = prev[sentinel];
+        next[slot] = sentinel;
+        next[prev[sentinel]] = slot;
+        prev[sentinel] = slot;
+    }
+}
@@ -0,0 +1,370 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Simulação com vários processos: cada referência traz o processo (ver IntTrace.pid) e uma
+ * página do espaço virtual dele. Uma passada inicial troca cada par (processo, página) por um
+ * identificador denso (LongIntMap) e cada processo por um índice (IntIntMap); daí em diante o
+ * estado por página e por processo fica em arrays, sem objeto por processo além da política.
+ *
+ * Substituição:
+ *   global - uma única política sobre todas as molduras; a vítima pode ser de outro processo;
+ *   local  - uma política por processo, só sobre as molduras alocadas a ele.
+ * Alocação (só local):
+ *   fixed  - cada processo recebe quota molduras na primeira referência, enquanto houver
+ *            molduras livres (padrão: frames / número de processos);
+ *   pff    - frequência de faltas: a cada window referências do processo, taxa de faltas acima
+ *            de high pede 1/4 a mais de molduras livres e abaixo de low devolve 1/8.
+ * Mudar a alocação recria a política do processo com o novo número de molduras e recarrega as
+ * páginas mais recentes em ordem de último uso, cada uma no instante desse uso (assim o Ótimo
+ * continua vendo o próximo uso certo); as que não cabem saem e, se sujas, são gravadas.
+ *
+ * Indicadores de thrashing: processos (com ao menos window referências) cuja taxa de faltas
+ * passa de thrash, janelas de window referências com taxa global acima de thrash, páginas
+ * tomadas de outro processo (global), pedidos de molduras negados (pff) e processos que
+ * chegaram sem nenhuma moldura livre.
+ *
+ * Especificação: "global" ou "local", opcionalmente seguido de ":chave=valor,...", ex.:
+ *   local:alloc=pff,quota=8,low=0.02,high=0.1,window=1000,thrash=0.5
+ */
+public class MultiProcessSimulator {
+    public enum Scope { GLOBAL, LOCAL }
+
+    public enum Allocation { FIXED, PFF }
+
+    public final Scope scope;
+    public final Allocation allocation;
+    public final int quota;      // molduras iniciais por processo (local); 0 = frames / processos
+    public final double low, high;
+    public final int window;     // referências por janela (PFF e indicadores)
+    public final double thrash;  // taxa de faltas considerada thrashing
+
+    public MultiProcessSimulator(Scope scope, Allocation allocation, int quota, double low, double high,
+                                 int window, double thrash) {
+        if (quota < 0 || low < 0 || high < low || high > 1 || window <= 0 || thrash < 0 || thrash > 1) {
+            throw new IllegalArgumentException("Parâmetros inválidos para a simulação com processos");
+        }
+        this.scope = scope;
+        this.allocation = allocation;
+        this.quota = quota;
+        this.low = low;
+        this.high = high;
+        this.window = window;
+        this.thrash = thrash;
+    }
+
+    public static MultiProcessSimulator parse(String spec) {
+        int colon = spec.indexOf(':');
+        String mode = (colon < 0 ? spec : spec.substring(0, colon)).trim().toLowerCase(Locale.ROOT);
+        Scope scope = switch (mode) {
+            case "global" -> Scope.GLOBAL;
+            case "local" -> Scope.LOCAL;
+            default -> throw new IllegalArgumentException("Substituição desconhecida (global ou local): " + mode);
+        };
+        Map<String, String> p = new HashMap<>();
+        if (colon >= 0) {
+            for (String kv : spec.substring(colon + 1).split(",")) {
+                if (kv.isBlank()) continue;
+                int eq = kv.indexOf('=');
+                if (eq < 0) throw new IllegalArgumentException("Parâmetro sem valor: " + kv);
+                p.put(kv.substring(0, eq).trim().toLowerCase(Locale.ROOT), kv.substring(eq + 1).trim());
+            }
+        }
+        Allocation allocation = switch (p.getOrDefault("alloc", "fixed").toLowerCase(Locale.ROOT)) {
+            case "fixed" -> Allocation.FIXED;
+            case "pff" -> Allocation.PFF;
+            default -> throw new IllegalArgumentException("Alocação desconhecida (fixed ou pff): " + p.get("alloc"));
+        };
+        if (scope == Scope.GLOBAL && allocation == Allocation.PFF) {
+            throw new IllegalArgumentException("A alocação por PFF só vale para substituição local");
+        }
+        return new MultiProcessSimulator(scope, allocation,
+                Integer.parseInt(p.getOrDefault("quota", "0")),
+                Double.parseDouble(p.getOrDefault("low", "0.02")),
+                Double.parseDouble(p.getOrDefault("high", "0.1")),
+                (int) Double.parseDouble(p.getOrDefault("window", "1000")),
+                Double.parseDouble(p.getOrDefault("thrash", "0.5")));
+    }
+
+    /** Resultado de uma política: totais, indicadores de thrashing e números por processo. */
+    public static class Report {
+        public final String name;
+        public final long refs, faults, writebacks;
+        public final long stolen;         // faltas que tomaram a moldura de outro processo (global)
+        public final long denied;         // pedidos de molduras negados por falta de molduras livres (pff)
+        public final int starved;         // processos que chegaram sem nenhuma moldura livre (local)
+        public final int thrashing;       // processos com taxa de faltas acima do limite
+        public final long windows, thrashWindows;
+        public final int[] pids;          // ordem da primeira referência
+        public final long[] processRefs, processFaults;
+        public final int[] processFrames; // molduras no fim: alocação (local) ou residentes (global)
+
+        Report(String name, long refs, long faults, long writebacks, long stolen, long denied, int starved,
+               int thrashing, long windows, long thrashWindows, int[] pids, long[] processRefs,
+               long[] processFaults, int[] processFrames) {
+            this.name = name;
+            this.refs = refs;
+            this.faults = faults;
+            this.writebacks = writebacks;
+            this.stolen = stolen;
+            this.denied = denied;
+            this.starved = starved;
+            this.thrashing = thrashing;
+            this.windows = windows;
+            this.thrashWindows = thrashWindows;
+            this.pids = pids;
+            this.processRefs = processRefs;
+            this.processFaults = processFaults;
+            this.processFrames = processFrames;
+        }
+
+        public void printSummary(PrintStream out) {
+            out.printf(Locale.ROOT, "- %s - %d faltas de página (%.2f%%), %d gravações de páginas sujas | %d processos,"
+                            + " %d em thrashing | janelas em thrashing: %d/%d",
+                    name, faults, refs == 0 ? 0.0 : 100.0 * faults / refs, writebacks, pids.length, thrashing,
+                    thrashWindows, windows);
+            if (stolen > 0) out.printf(" | páginas tomadas de outros processos: %d", stolen);
+            if (denied > 0) out.printf(" | pedidos de molduras negados: %d", denied);
+            if (starved > 0) out.printf(" | processos sem molduras: %d", starved);
+            out.println();
+        }
+
+        /** Uma linha CSV por processo, em ordem de pid. */
+        public void printProcesses(PrintStream out) {
+            Integer[] order = new Integer[pids.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Integer.compare(pids[a], pids[b]));
+            out.println("processo,referências,faltas,taxa,molduras");
+            for (int i : order) {
+                out.printf(Locale.ROOT, "%d,%d,%d,%.4f,%d%n", pids[i], processRefs[i], processFaults[i],
+                        processRefs[i] == 0 ? 0.0 : (double) processFaults[i] / processRefs[i], processFrames[i]);
+            }
+        }
+    }
+
+    /** Simula cada política sobre o mesmo trace; a numeração e o índice do Ótimo são feitos uma vez só. */
+    public List<Report> run(IntTrace trace, List<String> policies, int frames) {
+        if (frames < 0) throw new IllegalArgumentException("Número de molduras negativo: " + frames);
+        Numbering num = new Numbering(trace);
+        IntTrace ids = IntTrace.wrap(num.ids);
+        int[] next = policies.contains("Ótimo") ? OptimalPolicy.nextUseIndex(num.ids, num.ids.length) : null;
+        List<Report> reports = new ArrayList<>(policies.size());
+        for (String name : policies) reports.add(new Run(name, frames, trace, num, ids, next).run());
+        return reports;
+    }
+
+    /** (processo, página) -> identificador denso, e processo -> índice, na ordem da primeira referência. */
+    private static final class Numbering {
+        final int[] ids;   // identificador de cada referência
+        int[] owner;       // índice do processo de cada identificador
+        int[] pids;        // pid de cada índice de processo
+        int pages, processes;
+
+        Numbering(IntTrace trace) {
+            int n = trace.size();
+            int[] refs = trace.array();
+            ids = new int[n];
+            owner = new int[16];
+            pids = new int[16];
+            LongIntMap idOf = new LongIntMap();
+            IntIntMap processOf = new IntIntMap();
+            for (int i = 0; i < n; i++) {
+                int pid = trace.pid(i);
+                int p = processOf.get(pid, -1);
+                if (p < 0) {
+                    p = processes++;
+                    processOf.put(pid, p);
+                    if (p == pids.length) pids = Arrays.copyOf(pids, p * 2);
+                    pids[p] = pid;
+                }
+                long key = (long) pid << 32 | (refs[i] & 0xFFFFFFFFL);
+                int id = idOf.get(key, -1);
+                if (id < 0) {
+                    id = pages++;
+                    idOf.put(key, id);
+                    if (id == owner.length) owner = Arrays.copyOf(owner, id * 2);
+                    owner[id] = p;
+                }
+                ids[i] = id;
+            }
+            pids = Arrays.copyOf(pids, processes);
+        }
+    }
+
+    /** Estado de uma simulação: as políticas veem só identificadores densos. */
+    private final class Run {
+        final String name;
+        final int frames;
+        final IntTrace trace, ids;
+        final Numbering num;
+        final int[] next;
+        final long[] refs, faults;
+        final int[] alloc, resident;
+        ReplacementPolicy shared;         // global
+        ReplacementPolicy[] local;        // local, criada na primeira referência do processo
+        int[] slotOwner;                  // global: processo da página de cada moldura
+        long[] localWritebacks;           // local: gravações de políticas já recriadas
+        long[] lastUse;                   // pff: último uso de cada identificador
+        int[] windowRefs, windowFaults;   // pff: janela de cada processo
+        int free, quotaFrames;
+        long stolen, denied;
+        int starved;
+
+        Run(String name, int frames, IntTrace trace, Numbering num, IntTrace ids, int[] next) {
+            this.name = name;
+            this.frames = frames;
+            this.trace = trace;
+            this.num = num;
+            this.ids = ids;
+            this.next = next;
+            int procs = num.processes;
+            refs = new long[procs];
+            faults = new long[procs];
+            alloc = new int[procs];
+            resident = new int[procs];
+            if (scope == Scope.GLOBAL) {
+                shared = create(frames);
+                slotOwner = new int[frames];
+                Arrays.fill(slotOwner, -1);
+            } else {
+                local = new ReplacementPolicy[procs];
+                localWritebacks = new long[procs];
+                free = frames;
+                quotaFrames = quota > 0 ? quota : Math.max(1, frames / Math.max(procs, 1));
+                if (allocation == Allocation.PFF) {
+                    lastUse = new long[num.pages];
+                    windowRefs = new int[procs];
+                    windowFaults = new int[procs];
+                }
+            }
+        }
+
+        ReplacementPolicy create(int n) {
+            ReplacementPolicy policy = "Ótimo".equals(name) ? new OptimalPolicy(n, next) : Policies.create(name, n);
+            if (policy.needsFuture()) policy.prepare(ids);
+            return policy;
+        }
+
+        Report run() {
+            int n = trace.size();
+            int[] id = num.ids;
+            int[] owner = num.owner;
+            boolean hasWrites = trace.hasWrites();
+            long windows = 0, thrashWindows = 0;
+            int windowPos = 0, windowFaultsTotal = 0;
+            for (int t = 0; t < n; t++) {
+                int page = id[t];
+                int p = owner[page];
+                boolean write = hasWrites && trace.isWrite(t);
+                refs[p]++;
+                ReplacementPolicy policy = shared != null ? shared : local[p];
+                if (policy == null) policy = arrive(p);
+                boolean fault = PageReplacementSimulator.step(policy, page, t, write);
+                if (fault) {
+                    faults[p]++;
+                    windowFaultsTotal++;
+                    if (slotOwner != null) {
+                        // slotOwner ainda tem o dono da página que saiu da moldura
+                        int slot = policy.slotOf(page);
+                        if (slot >= 0) {
+                            int o = slotOwner[slot];
+                            if (o >= 0) {
+                                resident[o]--;
+                                if (o != p) stolen++;
+                            }
+                            slotOwner[slot] = p;
+                            resident[p]++;
+                        }
+                    } else if (resident[p] < policy.frames()) {
+                        resident[p]++;
+                    }
+                }
+                if (lastUse != null) {
+                    lastUse[page] = t;
+                    if (fault) windowFaults[p]++;
+                    if (++windowRefs[p] == window) adjust(p);
+                }
+                if (++windowPos == window) {
+                    windows++;
+                    if (windowFaultsTotal > thrash * window) thrashWindows++;
+                    windowPos = windowFaultsTotal = 0;
+                }
+            }
+            long totalFaults = 0, writebacks = 0;
+            int thrashing = 0;
+            for (int p = 0; p < num.processes; p++) {
+                totalFaults += faults[p];
+                if (refs[p] >= window && faults[p] > thrash * refs[p]) thrashing++;
+                if (local != null) writebacks += localWritebacks[p] + (local[p] != null ? local[p].writebacks() : 0);
+            }
+            if (shared != null) writebacks = shared.writebacks();
+            return new Report(name, n, totalFaults, writebacks, stolen, denied, starved, thrashing, windows,
+                    thrashWindows, num.pids, refs, faults, shared != null ? resident : alloc);
+        }
+
+        /** Primeira referência do processo (substituição local): recebe a quota, se houver molduras livres. */
+        ReplacementPolicy arrive(int p) {
+            int a = Math.min(quotaFrames, free);
+            if (a == 0) starved++;
+            free -= a;
+            alloc[p] = a;
+            return local[p] = create(a);
+        }
+
+        /** Fim de uma janela do processo: ajusta a alocação pela taxa de faltas (PFF). */
+        void adjust(int p) {
+            double rate = windowFaults[p] / (double) window;
+            int a = alloc[p];
+            if (rate > high) {
+                int want = Math.max(1, a / 4);
+                int grant = Math.min(want, free);
+                if (grant < want) denied++;
+                if (grant > 0) {
+                    free -= grant;
+                    resize(p, a + grant);
+                }
+            } else if (rate < low && a > 1) {
+                int give = Math.max(1, a / 8);
+                free += give;
+                resize(p, a - give);
+            }
+            windowRefs[p] = windowFaults[p] = 0;
+        }
+
+        /** Recria a política do processo com {@code size} molduras, mantendo as páginas mais recentes. */
+        void resize(int p, int size) {
+            ReplacementPolicy old = local[p];
+            long[] order = new long[old.frames()];
+            int k = 0;
+            for (int s = 0; s < old.frames(); s++) {
+                int page = old.pageAt(s);
+                if (page != ReplacementPolicy.EMPTY) order[k++] = lastUse[page] << 32 | s; // instantes cabem em 31 bits
+            }
+            Arrays.sort(order, 0, k);
+            int drop = Math.max(0, k - size);
+            long writebacks = old.writebacks();
+            ReplacementPolicy policy = create(size);
+            for (int i = 0; i < k; i++) {
+                int s = (int) order[i];
+                if (i < drop) {
+                    if (old.isDirty(s)) writebacks++;
+                    continue;
+                }
+                int page = old.pageAt(s);
+                long u = lastUse[page];
+                int slot = policy.evict(page, u);
+                policy.onLoad(slot, page, u);
+                if (old.isDirty(s)) policy.onWrite(slot, u);
+            }
+            localWritebacks[p] += writebacks;
+            local[p] = policy;
+            alloc[p] = size;
+            resident[p] = k - drop;
+        }
+    }
+}
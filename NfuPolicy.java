@@ -0,0 +1,45 @@
+/**
+ * NFU (Not Frequently Used): a cada tick soma o bit R ao contador da moldura e zera R.
+ * A vítima é a de menor contador (empate: sem R, depois a menor moldura). Ao contrário
+ * do Aging, nunca esquece: uma página muito usada no passado demora a sair.
+ * Escolher a vítima varre as molduras: O(F) por falta.
+ */
+public class NfuPolicy extends TickPolicy {
+    private final int[] count;
+
+    public NfuPolicy(int frames) {
+        this(frames, 0);
+    }
+
+    public NfuPolicy(int frames, int tickInterval) {
+        super("NFU", frames, tickInterval);
+        count = new int[Math.max(frames, 1)];
+    }
+
+    @Override protected void tick(long now) {
+        for (int i = referenced.nextSetBit(0); i >= 0; i = referenced.nextSetBit(i + 1)) {
+            if (count[i] != Integer.MAX_VALUE) count[i]++;
+        }
+        referenced.clearAll();
+    }
+
+    @Override protected int victim(int page, long t) {
+        advance(t);
+        int best = 0;
+        long bestValue = Long.MAX_VALUE;
+        for (int i = 0; i < frames; i++) {
+            long value = ((long) count[i] << 1) | (referenced.get(i) ? 1 : 0);
+            if (value < bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        advance(t);
+        count[slot] = 0;
+        super.loaded(slot, t);
+    }
+}
@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulação incremental: cada access(página) processa uma referência na hora e os contadores
+ * (faltas, acertos, taxa de acertos, gravações) e o conteúdo das molduras podem ser consultados
+ * a qualquer momento. A memória é só a da política, qualquer que seja o número de referências,
+ * então serve para alimentar o simulador com um fluxo ao vivo (ex.: um agente de
+ * instrumentação). Cada referência passa por PageReplacementSimulator.step, o mesmo passo de
+ * PageReplacementSimulator.simulate.
+ *
+ * Políticas que precisam do trace inteiro (Ótimo) não são aceitas; as que olham adiante
+ * (lookahead(), ex.: LookaheadOptimalPolicy) só recebem as referências adiantadas quando
+ * rodam por PageReplacementSimulator.simulate(política, fluxo, ...). Não é thread-safe: um
+ * único produtor chama access().
+ */
+public class OnlineSimulator {
+    private final ReplacementPolicy policy;
+    private final int frames;
+    private long time, faults;
+
+    public OnlineSimulator(ReplacementPolicy policy) {
+        if (policy.needsFuture()) {
+            throw new IllegalArgumentException(policy.name() + " precisa do trace inteiro e não pode ser simulado online");
+        }
+        this.policy = policy;
+        this.frames = policy.frames();
+    }
+
+    /** Política registrada em Policies. */
+    public static OnlineSimulator of(String name, int frames) {
+        return new OnlineSimulator(Policies.create(name, frames));
+    }
+
+    public ReplacementPolicy policy() {
+        return policy;
+    }
+
+    /** Referência de leitura; devolve true se foi falta. */
+    public boolean access(int page) {
+        return access(page, false);
+    }
+
+    /** Próxima referência do fluxo; devolve true se foi falta. */
+    public boolean access(int page, boolean write) {
+        boolean fault = PageReplacementSimulator.step(policy, page, time++, write);
+        if (fault) faults++;
+        return fault;
+    }
+
+    /** Processa pages[from..to) de uma vez (lotes de um agente); devolve as faltas do lote. */
+    public int accessAll(int[] pages, int from, int to) {
+        int f = 0;
+        for (int i = from; i < to; i++) {
+            if (access(pages[i], false)) f++;
+        }
+        return f;
+    }
+
+    public long references() {
+        return time;
+    }
+
+    public long faults() {
+        return faults;
+    }
+
+    public long hits() {
+        return time - faults;
+    }
+
+    /** Acertos / referências (0 antes da primeira referência). */
+    public double hitRatio() {
+        return time == 0 ? 0 : (double) (time - faults) / time;
+    }
+
+    public long writebacks() {
+        return policy.writebacks();
+    }
+
+    public boolean isResident(int page) {
+        return policy.slotOf(page) >= 0;
+    }
+
+    /** Página de cada moldura agora (ReplacementPolicy.EMPTY = vazia). */
+    public int[] frames() {
+        int[] pages = new int[frames];
+        for (int i = 0; i < frames; i++) pages[i] = policy.pageAt(i);
+        return pages;
+    }
+
+    /** Resultado até aqui, no formato dos simulate*; os passos não são gravados. */
+    public PageReplacementSimulator.Result result() {
+        return result(null);
+    }
+
+    PageReplacementSimulator.Result result(StepLog steps) {
+        return new PageReplacementSimulator.Result(policy.name(), faults, time - faults, policy.writebacks(), steps);
+    }
+
+    /** Simuladores online para todas as políticas registradas que não precisam do futuro. */
+    public static List<OnlineSimulator> forAll(int frames) {
+        List<OnlineSimulator> sims = new ArrayList<>();
+        for (String name : Policies.names()) {
+            ReplacementPolicy policy = Policies.create(name, frames);
+            if (!policy.needsFuture()) sims.add(new OnlineSimulator(policy));
+        }
+        return sims;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Ótimo (OPT/Belady): substitui a página cujo próximo uso é o mais distante.
+ * O próximo uso de cada posição vem de um índice calculado em uma passada reversa e as
+ * molduras ficam em um heap de máximo por próximo uso: O(log F) por referência.
+ * Empate (páginas que nunca mais serão usadas) -> menor moldura.
+ */
+public class OptimalPolicy extends AbstractPolicy {
+    private final IndexedMaxHeap byNextUse;
+    private int[] next;
+
+    public OptimalPolicy(int frames) {
+        super("Ótimo", frames);
+        byNextUse = new IndexedMaxHeap(Math.max(frames, 1));
+    }
+
+    /** Usa um índice de próximo uso já calculado (compartilhado entre execuções). */
+    public OptimalPolicy(int frames, int[] next) {
+        this(frames);
+        this.next = next;
+    }
+
+    @Override public boolean needsFuture() {
+        return true;
+    }
+
+    @Override public void prepare(IntTrace trace) {
+        if (next == null) next = nextUseIndex(trace.array(), trace.size());
+    }
+
+    @Override public void onHit(int slot, long t) {
+        byNextUse.update(slot, next[(int) t]); // acerto: só atualiza o próximo uso
+    }
+
+    @Override protected int victim(int page, long t) {
+        return byNextUse.top(); // usada mais tarde (ou nunca mais)
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        if (byNextUse.contains(slot)) byNextUse.update(slot, next[(int) t]);
+        else byNextUse.add(slot, next[(int) t]);
+    }
+
+    /** next[i] = próxima posição j > i com refs[j] == refs[i], ou Integer.MAX_VALUE se nunca mais usada. */
+    public static int[] nextUseIndex(int[] refs, int n) {
+        int[] next = new int[n];
+        IntIntMap lastSeen = new IntIntMap();
+        for (int i = n - 1; i >= 0; i--) {
+            int r = refs[i];
+            next[i] = lastSeen.get(r, Integer.MAX_VALUE);
+            lastSeen.put(r, i);
+        }
+        return next;
+    }
+}
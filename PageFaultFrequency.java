@@ -0,0 +1,48 @@
+/**
+ * Alocação dinâmica por frequência de faltas (PFF, Chu e Opderbeck): o número de molduras do
+ * processo não é fixo. Numa falta, se o intervalo desde a falta anterior passou de
+ * {@code interval} referências (poucas faltas), saem todas as páginas não referenciadas desde
+ * a falta anterior; em qualquer caso a página da falta entra sem tirar ninguém.
+ *
+ * As residentes ficam numa lista em ordem de último uso (IntLinkedSet) com a época (número da
+ * falta) do último uso: as não usadas desde a última falta são exatamente um prefixo da lista,
+ * então o corte custa O(páginas que saem) e cada referência O(1) amortizado.
+ */
+public class PageFaultFrequency {
+    private final long interval;
+    private final IntLinkedSet resident = new IntLinkedSet();
+    private final IntIntMap epochOf = new IntIntMap();
+    private int epoch;             // faltas até agora
+    private long time;
+    private long lastFault = Long.MIN_VALUE / 2;
+
+    public PageFaultFrequency(long interval) {
+        if (interval <= 0) throw new IllegalArgumentException("Intervalo do PFF deve ser positivo: " + interval);
+        this.interval = interval;
+    }
+
+    /** Molduras ocupadas pelo processo agora. */
+    public int resident() {
+        return resident.size();
+    }
+
+    /** Registra a próxima referência; devolve true se foi falta. */
+    public boolean access(int page) {
+        long t = time++;
+        if (resident.contains(page)) {
+            resident.moveToLast(page);
+            epochOf.put(page, epoch);
+            return false;
+        }
+        if (t - lastFault > interval) {
+            while (!resident.isEmpty() && epochOf.get(resident.first(), epoch) < epoch) {
+                epochOf.remove(resident.removeFirst());
+            }
+        }
+        epoch++;
+        lastFault = t;
+        resident.addLast(page);
+        epochOf.put(page, epoch);
+        return true;
+    }
+}
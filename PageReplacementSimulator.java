@@ -7,23 +7,85 @@ import java.util.stream.Collectors;
 
 /**
  * Simulador de Algoritmos de Substituição de Páginas
- * Algoritmos: FIFO, LRU, Relógio (Clock), Ótimo (OPT)
+ * Algoritmos: FIFO, LRU, Relógio (Clock), Ótimo (OPT) e as demais políticas registradas em Policies
  *
  * Uso (console):
  *  java PageReplacementSimulator "7,0,1,2,0,3,0,4,2,3,0,3,2" 3 --verbose --gui
  *  (sequência, número de molduras, flags opcionais: --verbose para tabela passo a passo; --gui para gráfico Swing)
+ *  java PageReplacementSimulator --file trace.txt 3
+ *  (lê o trace do arquivo de forma incremental; "--file -" lê de stdin;
+ *   arquivos no formato binário de BinaryTrace são detectados pelo cabeçalho)
+ *  java PageReplacementSimulator --file trace.txt --lru-curve 1024
+ *  (faltas do LRU para 1..1024 molduras em uma única passada, em CSV)
+ *  java PageReplacementSimulator --file trace.txt --frames 1..1024 [--threads 32]
+ *  (varredura paralela de todos os algoritmos para cada número de molduras, em CSV)
+ *  java PageReplacementSimulator --gen zipf:n=1e8,pages=1000000,s=0.9 1024
+ *  (trace sintético gerado sob demanda; ver TraceGenerator)
+ *  java PageReplacementSimulator --file trace.txt 64 --tick 100 --tau 500
+ *  (intervalo entre ticks de relógio do Aging/NFU/WSClock e tau do WSClock, em referências)
+ *  java PageReplacementSimulator "R7 W0 1 W2 0" 3 --cost mem=200,fault=8e6,writeback=8e6
+ *  (W marca escrita; o resumo mostra as gravações de páginas sujas e, com --cost, o tempo
+ *   efetivo de acesso; ver CostModel)
+ *  agente | java PageReplacementSimulator --file - 64 --live 1000000
+ *  (todas as políticas online numa única passada, com memória limitada: faltas acumuladas em
+ *   CSV a cada 1000000 referências; o Ótimo fica de fora; ver OnlineSimulator)
+ *  java PageReplacementSimulator --file trace.txt 64 --lookahead 0,16,256,4096
+ *  (Ótimo com janela limitada, lendo o arquivo em fluxo, comparado com o Ótimo verdadeiro, em
+ *   CSV; janela 0 = LRU; ver LookaheadOptimalPolicy)
+ *  java PageReplacementSimulator --file trace.txt --ws 10000 [--pff 2000] [--sample 1000]
+ *  (série temporal em CSV do conjunto de trabalho |W(t, Δ)| e da alocação PFF, com as taxas de
+ *   faltas, sem número fixo de molduras; o resumo sai em stderr; ver WorkingSetSimulator)
+ *  java PageReplacementSimulator --gen zipf:n=1e7,pages=500,procs=2000 65536 --procs local:alloc=pff
+ *  (referências "processo:página"; substituição global ou local com alocação fixa ou por PFF,
+ *   faltas por processo com --verbose; ver MultiProcessSimulator)
+ *  java PageReplacementSimulator --file trace.txt 4096 --tlb entries=64,ways=4,policy=LRU,levels=4 [--cost ...]
+ *  (TLB associativo na frente das molduras, com percurso de tabela de páginas de 2 ou 4 níveis:
+ *   taxa de acertos no TLB, percursos e tempo médio de acesso; ver TlbSimulator)
+ *  java PageReplacementSimulator --file addr:2m:lackey.txt 512
+ *  (trace de endereços virtuais em hexadecimal (valgrind lackey, pin, perf script) lido como
+ *   páginas de 2M, com referências seguidas à mesma página juntadas; ver AddressTrace)
+ *  java PageReplacementSimulator --addr lackey.txt --page-sizes 4k,2m,1g --memory 4g
+ *  (faltas de cada política para cada tamanho de página numa única passada, em CSV; com
+ *   --memory as molduras de cada tamanho somam essa memória; ver PageSizeSimulator)
+ *  java PageReplacementSimulator --file trace.txt 4096 --assoc ways=8,index=hash
+ *  (molduras associativas por conjunto: 512 conjuntos de 8 vias, cada política escolhe a
+ *   vítima dentro do conjunto da página; ver SetAssociativePolicy)
+ *  java PageReplacementSimulator --gen zipf:n=1e9,pages=1000000 65536 --assoc ways=16,index=hash --shards 8
+ *  (o trace lido uma vez e dividido por conjunto, ou por processo com --procs local, entre 8
+ *   workers; mesmas faltas da execução sequencial, sem o Ótimo; ver ShardedSimulator)
  *
  * Sem argumentos, o programa pergunta interativamente.
  */
 public class PageReplacementSimulator {
     public static class Result {
         public final String name;
-        public final int faults;
-        public final List<Step> steps;
-        public Result(String name, int faults, List<Step> steps) {
+        public final long faults;
+        public final long hits;
+        public final long writebacks; // páginas sujas gravadas de volta
+        public final List<Step> steps; // vazio no modo contagem
+        public final StepLog log;      // passos gravados (eventos + checkpoints); null no modo contagem
+        public Result(String name, long faults, List<Step> steps) {
+            this(name, faults, steps.size() - faults, steps);
+        }
+        public Result(String name, long faults, long hits, List<Step> steps) {
+            this(name, faults, hits, 0, steps);
+        }
+        public Result(String name, long faults, long hits, long writebacks, List<Step> steps) {
             this.name = name;
             this.faults = faults;
+            this.hits = hits;
+            this.writebacks = writebacks;
             this.steps = steps;
+            this.log = null;
+        }
+        /** Passos gravados num StepLog; steps é uma visão que monta cada Step sob demanda. */
+        public Result(String name, long faults, long hits, long writebacks, StepLog log) {
+            this.name = name;
+            this.faults = faults;
+            this.hits = hits;
+            this.writebacks = writebacks;
+            this.steps = log == null ? Collections.emptyList() : log.asList();
+            this.log = log;
         }
     }
 
@@ -31,188 +93,286 @@ public class PageReplacementSimulator {
         public final int ref;
         public final List<Integer> framesSnapshot; // tamanho = frames
         public final boolean fault;
+        public final boolean write;     // a referência foi uma escrita
+        public final boolean writeback; // a falta expulsou uma página suja
         public Step(int ref, List<Integer> framesSnapshot, boolean fault) {
+            this(ref, framesSnapshot, fault, false, false);
+        }
+        public Step(int ref, List<Integer> framesSnapshot, boolean fault, boolean write, boolean writeback) {
             this.ref = ref;
             this.framesSnapshot = framesSnapshot;
             this.fault = fault;
+            this.write = write;
+            this.writeback = writeback;
         }
     }
 
-    // ---------- FIFO ----------
-    public static Result simulateFIFO(List<Integer> refs, int frames) {
-        Queue<Integer> queue = new ArrayDeque<>();
-        Set<Integer> inFrames = new HashSet<>();
+    // ---------- Laço de simulação ----------
+    // Um único passo por referência para todas as políticas (ver ReplacementPolicy), usado por
+    // estes laços e pelos demais simuladores; sem alocação por referência quando os passos não
+    // são gravados.
+
+    /**
+     * Processa uma referência no instante t: acerto (onHit) ou falta (evict + onLoad, se houver
+     * molduras) e, se for escrita, marca a moldura da página. Devolve true se foi falta; a
+     * moldura da página fica em policy.slotOf(page) (-1 sem molduras).
+     */
+    public static boolean step(ReplacementPolicy policy, int page, long t, boolean write) {
+        int slot = policy.slotOf(page);
+        boolean fault = slot < 0;
+        if (!fault) {
+            policy.onHit(slot, t);
+        } else if (policy.frames() > 0) {
+            policy.onLoad(slot = policy.evict(page, t), page, t);
+        }
+        if (write && slot >= 0) policy.onWrite(slot, t);
+        return fault;
+    }
+
+    public static Result simulate(ReplacementPolicy policy, IntTrace trace, boolean recordSteps) {
+        return simulate(policy, trace, recordSteps, null);
+    }
+
+    /** Referências entre duas chamadas de progresso (e verificações de interrupção). */
+    public static final int PROGRESS_STEP = 1 << 16;
+
+    /**
+     * Como simulate(política, trace, gravar), avisando {@code progress} (se não for null) a cada
+     * PROGRESS_STEP referências com o número de referências processadas desde o aviso anterior.
+     * Nesses pontos, se a thread foi interrompida (ex.: cancelamento na GUI), a simulação
+     * para com CancellationException.
+     */
+    public static Result simulate(ReplacementPolicy policy, IntTrace trace, boolean recordSteps,
+            java.util.function.IntConsumer progress) {
+        return simulate(policy, trace, recordSteps, progress, null);
+    }
+
+    /** Observa cada referência do laço, depois do passo (ex.: o TLB de TlbSimulator). */
+    public interface StepListener {
+        void onStep(int page, long t, boolean fault);
+    }
+
+    /** Como simulate(política, trace, gravar, progresso), avisando {@code listener} (se não for null) a cada referência. */
+    public static Result simulate(ReplacementPolicy policy, IntTrace trace, boolean recordSteps,
+            java.util.function.IntConsumer progress, StepListener listener) {
+        if (policy.needsFuture()) policy.prepare(trace);
+        int[] refs = trace.array();
+        int n = trace.size();
+        boolean hasWrites = trace.hasWrites();
+        int lookahead = policy.lookahead(), fed = 0;
         int faults = 0;
-        List<Step> steps = new ArrayList<>();
-        for (int r : refs) {
-            boolean fault = false;
-            if (!inFrames.contains(r)) {
-                faults++; fault = true;
-                if (queue.size() == frames) {
-                    Integer victim = queue.poll();
-                    if (victim != null) inFrames.remove(victim);
-                }
-                if (frames > 0) {
-                    queue.offer(r);
-                    inFrames.add(r);
-                }
+        StepLog log = recordSteps ? new StepLog(policy.frames(), n, policy.displayOrder()) : null;
+        for (int i = 0; i < n; i++) {
+            if (progress != null && i > 0 && (i & (PROGRESS_STEP - 1)) == 0) {
+                if (Thread.currentThread().isInterrupted()) throw new java.util.concurrent.CancellationException();
+                progress.accept(PROGRESS_STEP);
             }
-            steps.add(new Step(r, snapshot(queue, frames), fault));
+            if (lookahead > 0) {
+                for (int until = (int) Math.min(n - 1L, (long) i + lookahead); fed <= until; fed++) policy.ahead(refs[fed], fed);
+            }
+            int r = refs[i];
+            boolean write = hasWrites && trace.isWrite(i);
+            long writebacks = recordSteps ? policy.writebacks() : 0;
+            boolean fault = step(policy, r, i, write);
+            if (fault) faults++;
+            if (listener != null) listener.onStep(r, i, fault);
+            if (recordSteps) log.add(r, policy.slotOf(r), fault, write, policy.writebacks() != writebacks);
         }
-        return new Result("FIFO", faults, steps);
+        if (progress != null && n > 0) progress.accept(n - (n - 1) / PROGRESS_STEP * PROGRESS_STEP);
+        return new Result(policy.name(), faults, n - faults, policy.writebacks(), log);
     }
 
-    private static List<Integer> snapshot(Queue<Integer> q, int frames) {
-        List<Integer> list = new ArrayList<>(q);
-        // Preencher com nulls até frames
-        while (list.size() < frames) list.add(null);
-        return list;
+    /**
+     * Consome um fluxo (ex.: TraceSource) referência a referência com um OnlineSimulator (o
+     * mesmo step() do laço acima); políticas que olham o futuro materializam o trace antes.
+     */
+    public static Result simulate(ReplacementPolicy policy, PrimitiveIterator.OfInt refs, boolean recordSteps) {
+        if (policy.needsFuture()) return simulate(policy, IntTrace.from(refs), recordSteps);
+        if (policy.lookahead() > 0) refs = new Lookahead(refs, policy);
+        OnlineSimulator sim = new OnlineSimulator(policy);
+        TraceSource src = refs instanceof TraceSource s ? s : null;
+        StepLog log = recordSteps ? new StepLog(policy.frames(), 16, policy.displayOrder()) : null;
+        while (refs.hasNext()) {
+            int r = refs.nextInt();
+            boolean write = src != null && src.isWrite();
+            long writebacks = recordSteps ? policy.writebacks() : 0;
+            boolean fault = sim.access(r, write);
+            if (recordSteps) log.add(r, policy.slotOf(r), fault, write, policy.writebacks() != writebacks);
+        }
+        return sim.result(log);
     }
 
-    // ---------- LRU ----------
-    public static Result simulateLRU(List<Integer> refs, int frames) {
-        // LinkedHashMap com accessOrder=true mantém a ordem do mais antigo -> mais recente
-        LinkedHashMap<Integer, Integer> lru = new LinkedHashMap<>(16, 0.75f, true);
-        int faults = 0;
-        List<Step> steps = new ArrayList<>();
-        for (int r : refs) {
-            boolean fault = false;
-            if (!lru.containsKey(r)) {
-                faults++; fault = true;
-                if (lru.size() == frames && frames > 0) {
-                    Integer victim = lru.keySet().iterator().next(); // menos recentemente usado
-                    lru.remove(victim);
-                }
+    /**
+     * Lê o fluxo adiantado num anel de lookahead() + 1 posições: antes de entregar a referência
+     * t, a política já viu (ahead) as referências até t + lookahead().
+     */
+    private static final class Lookahead implements TraceSource {
+        private final PrimitiveIterator.OfInt in;
+        private final TraceSource src;
+        private final ReplacementPolicy policy;
+        private final int[] pages;
+        private final boolean[] writes;
+        private long read, returned;
+        private boolean lastWrite;
+
+        Lookahead(PrimitiveIterator.OfInt in, ReplacementPolicy policy) {
+            this.in = in;
+            this.src = in instanceof TraceSource s ? s : null;
+            this.policy = policy;
+            this.pages = new int[policy.lookahead() + 1];
+            this.writes = new boolean[pages.length];
+        }
+
+        private void fill() {
+            while (read - returned < pages.length && in.hasNext()) {
+                int r = in.nextInt();
+                int i = (int) (read % pages.length);
+                pages[i] = r;
+                writes[i] = src != null && src.isWrite();
+                policy.ahead(r, read++);
             }
-            if (frames > 0) lru.put(r, 1); // atualiza acesso
-            steps.add(new Step(r, snapshotFromKeys(lru, frames), fault));
         }
-        return new Result("LRU", faults, steps);
+
+        @Override public boolean hasNext() {
+            fill();
+            return returned < read;
+        }
+
+        @Override public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int i = (int) (returned++ % pages.length);
+            lastWrite = writes[i];
+            return pages[i];
+        }
+
+        @Override public boolean isWrite() {
+            return lastWrite;
+        }
+
+        @Override public void close() {
+        }
+    }
+
+    // Convenção das sobrecargas:
+    //  - simulateX(List<Integer>, frames): compatibilidade, grava os passos;
+    //  - simulateX(IntTrace, frames): modo contagem (só faltas/acertos, sem alocação por referência);
+    //  - simulateX(IntTrace, frames, recordSteps): gravação de passos opcional (--verbose e GUI);
+    //  - simulateX(PrimitiveIterator.OfInt, frames, recordSteps): consome um fluxo (ex.: TraceReader)
+    //    sem materializar o trace (exceto OPT, que precisa do futuro).
+
+    // ---------- FIFO ----------
+    public static Result simulateFIFO(List<Integer> refs, int frames) {
+        return simulateFIFO(IntTrace.of(refs), frames, true);
+    }
+
+    public static Result simulateFIFO(IntTrace trace, int frames) {
+        return simulateFIFO(trace, frames, false);
+    }
+
+    public static Result simulateFIFO(IntTrace trace, int frames, boolean recordSteps) {
+        return simulate(new FifoPolicy(frames), trace, recordSteps);
+    }
+
+    public static Result simulateFIFO(PrimitiveIterator.OfInt refs, int frames, boolean recordSteps) {
+        return simulate(new FifoPolicy(frames), refs, recordSteps);
     }
 
-    private static List<Integer> snapshotFromKeys(LinkedHashMap<Integer, Integer> lru, int frames) {
-        // Mostrar do mais antigo ao mais recente
-        List<Integer> list = new ArrayList<>(lru.keySet());
-        while (list.size() < frames) list.add(null);
-        return list;
+    // ---------- LRU ----------
+    public static Result simulateLRU(List<Integer> refs, int frames) {
+        return simulateLRU(IntTrace.of(refs), frames, true);
+    }
+
+    public static Result simulateLRU(IntTrace trace, int frames) {
+        return simulateLRU(trace, frames, false);
+    }
+
+    public static Result simulateLRU(IntTrace trace, int frames, boolean recordSteps) {
+        return simulate(new LruPolicy(frames), trace, recordSteps);
+    }
+
+    public static Result simulateLRU(PrimitiveIterator.OfInt refs, int frames, boolean recordSteps) {
+        return simulate(new LruPolicy(frames), refs, recordSteps);
     }
 
     // ---------- Relógio (Clock) ----------
     public static Result simulateClock(List<Integer> refs, int frames) {
-        int[] frameArr = new int[Math.max(frames, 1)];
-        boolean[] used = new boolean[Math.max(frames, 1)];
-        Arrays.fill(frameArr, Integer.MIN_VALUE); // sentinel para "vazio"
-        int ptr = 0;
-        int faults = 0;
-        List<Step> steps = new ArrayList<>();
-        for (int r : refs) {
-            boolean fault = false;
-            int idx = indexOf(frameArr, r);
-            if (idx >= 0) {
-                used[idx] = true; // acerto: marca bit de uso
-            } else {
-                faults++; fault = true;
-                if (frames > 0) {
-                    while (used[ptr]) { // segunda chance
-                        used[ptr] = false;
-                        ptr = (ptr + 1) % frames;
-                    }
-                    frameArr[ptr] = r;
-                    used[ptr] = true;
-                    ptr = (ptr + 1) % frames;
-                }
-            }
-            steps.add(new Step(r, toList(frameArr, frames), fault));
-        }
-        return new Result("Relógio", faults, steps);
+        return simulateClock(IntTrace.of(refs), frames, true);
+    }
+
+    public static Result simulateClock(IntTrace trace, int frames) {
+        return simulateClock(trace, frames, false);
     }
 
-    private static int indexOf(int[] arr, int val) {
-        for (int i = 0; i < arr.length; i++) if (arr[i] == val) return i;
-        return -1;
+    public static Result simulateClock(IntTrace trace, int frames, boolean recordSteps) {
+        return simulate(new ClockPolicy(frames), trace, recordSteps);
     }
 
-    private static List<Integer> toList(int[] arr, int frames) {
-        List<Integer> list = new ArrayList<>();
-        for (int i = 0; i < frames; i++) list.add(arr[i] == Integer.MIN_VALUE ? null : arr[i]);
-        return list;
+    public static Result simulateClock(PrimitiveIterator.OfInt refs, int frames, boolean recordSteps) {
+        return simulate(new ClockPolicy(frames), refs, recordSteps);
     }
 
     // ---------- Ótimo (OPT) ----------
     public static Result simulateOptimal(List<Integer> refs, int frames) {
-        List<Integer> memory = new ArrayList<>(frames);
-        int faults = 0;
-        List<Step> steps = new ArrayList<>();
-        for (int i = 0; i < refs.size(); i++) {
-            int r = refs.get(i);
-            boolean fault = false;
-            if (!memory.contains(r)) {
-                faults++; fault = true;
-                if (memory.size() < frames) {
-                    if (frames > 0) memory.add(r);
-                } else if (frames > 0) {
-                    int victimIndex = chooseVictimOPT(memory, refs, i + 1);
-                    memory.set(victimIndex, r);
-                }
-            } else {
-                // acerto: nada a fazer
-            }
-            steps.add(new Step(r, padded(memory, frames), fault));
-        }
-        return new Result("Ótimo", faults, steps);
+        return simulateOptimal(IntTrace.of(refs), frames, true);
     }
 
-    private static int chooseVictimOPT(List<Integer> memory, List<Integer> refs, int start) {
-        int victim = -1, farthest = -1;
-        for (int m = 0; m < memory.size(); m++) {
-            int page = memory.get(m);
-            int nextUse = Integer.MAX_VALUE;
-            for (int j = start; j < refs.size(); j++) {
-                if (refs.get(j) == page) { nextUse = j; break; }
-            }
-            if (nextUse == Integer.MAX_VALUE) {
-                return m; // nunca mais usado -> melhor vítima
-            }
-            if (nextUse > farthest) {
-                farthest = nextUse; victim = m;
-            }
-        }
-        return victim;
+    public static Result simulateOptimal(IntTrace trace, int frames) {
+        return simulateOptimal(trace, frames, false);
+    }
+
+    public static Result simulateOptimal(IntTrace trace, int frames, boolean recordSteps) {
+        return simulate(new OptimalPolicy(frames), trace, recordSteps);
     }
 
-    private static List<Integer> padded(List<Integer> memory, int frames) {
-        List<Integer> list = new ArrayList<>(memory);
-        while (list.size() < frames) list.add(null);
-        return list;
+    /** OPT precisa do futuro: o fluxo é lido por completo para um IntTrace antes de simular. */
+    public static Result simulateOptimal(PrimitiveIterator.OfInt refs, int frames, boolean recordSteps) {
+        return simulate(new OptimalPolicy(frames), refs, recordSteps);
     }
 
     // ---------- Utilidades ----------
     public static List<Integer> parseRefs(String s) {
-        String[] parts = s.trim().split("[ ,;]+");
-        List<Integer> res = new ArrayList<>();
-        for (String p : parts) if (!p.isBlank()) res.add(Integer.parseInt(p));
-        return res;
+        return parseTrace(s).toList();
+    }
+
+    public static IntTrace parseTrace(String s) {
+        return IntTrace.parse(s);
     }
 
-    private static void printSummary(List<Result> results) {
+    private static void printSummary(List<Result> results, CostModel cost) {
         for (Result r : results) {
-            System.out.printf("- %s - %d faltas de página%n", r.name, r.faults);
+            System.out.printf("- %s - %d faltas de página, %d acertos, %d gravações de páginas sujas", r.name, r.faults, r.hits, r.writebacks);
+            if (cost != null) System.out.printf(Locale.ROOT, " - TEA %.1f ns", cost.effectiveAccessTime(r));
+            System.out.println();
         }
     }
 
-    private static void printVerbose(List<Result> results, List<Integer> refs, int frames) {
+    private static void printFaultCurve(String name, long[] curve) {
+        System.out.println("frames," + name);
+        for (int f = 1; f < curve.length; f++) System.out.println(f + "," + curve[f]);
+    }
+
+    private static void printVerbose(List<Result> results, int frames) {
         int width = Math.max(5, frames);
         System.out.println("\nTabela (passo a passo):");
         for (Result r : results) {
             System.out.println("\n== " + r.name + " ==");
             System.out.println("Ref | " + java.util.stream.IntStream.range(0, frames).mapToObj(i -> "F"+i).collect(Collectors.joining(" ")) + " | Falta");
-            for (Step st : r.steps) {
-                String frameStr = st.framesSnapshot.stream()
-                        .map(x -> x == null ? "-" : x.toString())
-                        .collect(Collectors.joining(" "));
-                System.out.printf("%3d | %s | %s%n", st.ref, frameStr, st.fault ? "*" : " ");
+            // lê o registro em ordem: cada passo aplica só o evento sobre o anterior
+            StepLog log = r.log;
+            StringBuilder frameStr = new StringBuilder();
+            for (int i = 0; i < log.size(); i++) {
+                frameStr.setLength(0);
+                for (int f = 0; f < frames; f++) {
+                    int page = log.pageAt(i, f);
+                    if (f > 0) frameStr.append(' ');
+                    frameStr.append(page == ReplacementPolicy.EMPTY ? "-" : Integer.toString(page));
+                }
+                // W = escrita; "gravação" = a falta expulsou uma página suja
+                System.out.printf("%3s | %s | %s%s%n", (log.write(i) ? "W" : "") + log.ref(i), frameStr,
+                        log.fault(i) ? "*" : " ", log.writeback(i) ? " gravação" : "");
             }
             System.out.printf("Total de faltas: %d%n", r.faults);
+            if (r.writebacks > 0) System.out.printf("Gravações de páginas sujas: %d%n", r.writebacks);
         }
     }
 
@@ -233,7 +393,7 @@ public class PageReplacementSimulator {
                     int w = getWidth(), h = getHeight();
                     int margin = 40;
                     int n = results.size();
-                    int max = results.stream().mapToInt(r -> r.faults).max().orElse(1);
+                    long max = results.stream().mapToLong(r -> r.faults).max().orElse(1);
                     int barW = Math.max(30, (w - 2*margin) / (n * 2));
                     int gap = barW;
                     int x = margin;
@@ -242,7 +402,7 @@ public class PageReplacementSimulator {
                     g2.drawLine(margin, h - margin, w - margin, h - margin);
                     // marcações simples
                     for (int i = 0; i <= 5; i++) {
-                        int val = (int) Math.round(i * (max / 5.0));
+                        long val = Math.round(i * (max / 5.0));
                         int y = h - margin - (int) ((h - 2*margin) * (val / (double) max));
                         g2.drawLine(margin - 5, y, margin, y);
                         g2.drawString(String.valueOf(val), 5, y + 5);
@@ -295,15 +455,207 @@ public class PageReplacementSimulator {
     }
 
     // ---------- main ----------
-    public static void main(String[] args) {
-        String seqStr = null; int frames = -1; boolean verbose = false; boolean gui = false;
-        if (args.length >= 2) {
-            seqStr = args[0];
-            frames = Integer.parseInt(args[1]);
-            for (int i = 2; i < args.length; i++) {
-                if ("--verbose".equalsIgnoreCase(args[i])) verbose = true;
-                if ("--gui".equalsIgnoreCase(args[i])) gui = true;
+    public static void main(String[] args) throws java.io.IOException, InterruptedException {
+        String seqStr = null; String traceFile = null; int frames = -1; boolean verbose = false; boolean gui = false;
+        int lruCurve = 0; String framesArg = null; int threads = Runtime.getRuntime().availableProcessors();
+        int tick = 0; long tau = 0; CostModel cost = null; MultiProcessSimulator procs = null;
+        int wsDelta = 0; long pffInterval = 0, sample = 0, live = 0; String lookaheads = null;
+        TlbSimulator tlb = null; String addrFile = null, pageSizes = "4k"; long memory = 0;
+        SetAssociativePolicy.Layout assoc = null; int shards = 0;
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--verbose".equalsIgnoreCase(args[i])) verbose = true;
+            else if ("--gui".equalsIgnoreCase(args[i])) gui = true;
+            else if ("--file".equalsIgnoreCase(args[i]) && i + 1 < args.length) traceFile = args[++i];
+            else if ("--gen".equalsIgnoreCase(args[i]) && i + 1 < args.length) traceFile = TraceSource.GENERATOR_PREFIX + args[++i];
+            else if ("--lru-curve".equalsIgnoreCase(args[i]) && i + 1 < args.length) lruCurve = Integer.parseInt(args[++i]);
+            else if ("--frames".equalsIgnoreCase(args[i]) && i + 1 < args.length) framesArg = args[++i];
+            else if ("--threads".equalsIgnoreCase(args[i]) && i + 1 < args.length) threads = Integer.parseInt(args[++i]);
+            else if ("--tick".equalsIgnoreCase(args[i]) && i + 1 < args.length) tick = Integer.parseInt(args[++i]);
+            else if ("--tau".equalsIgnoreCase(args[i]) && i + 1 < args.length) tau = Long.parseLong(args[++i]);
+            else if ("--cost".equalsIgnoreCase(args[i]) && i + 1 < args.length) cost = CostModel.parse(args[++i]);
+            else if ("--procs".equalsIgnoreCase(args[i]) && i + 1 < args.length) procs = MultiProcessSimulator.parse(args[++i]);
+            else if ("--ws".equalsIgnoreCase(args[i]) && i + 1 < args.length) wsDelta = Integer.parseInt(args[++i]);
+            else if ("--pff".equalsIgnoreCase(args[i]) && i + 1 < args.length) pffInterval = Long.parseLong(args[++i]);
+            else if ("--sample".equalsIgnoreCase(args[i]) && i + 1 < args.length) sample = Long.parseLong(args[++i]);
+            else if ("--live".equalsIgnoreCase(args[i]) && i + 1 < args.length) live = Long.parseLong(args[++i]);
+            else if ("--lookahead".equalsIgnoreCase(args[i]) && i + 1 < args.length) lookaheads = args[++i];
+            else if ("--tlb".equalsIgnoreCase(args[i]) && i + 1 < args.length) tlb = TlbSimulator.parse(args[++i]);
+            else if ("--addr".equalsIgnoreCase(args[i]) && i + 1 < args.length) addrFile = args[++i];
+            else if ("--page-sizes".equalsIgnoreCase(args[i]) && i + 1 < args.length) pageSizes = args[++i];
+            else if ("--memory".equalsIgnoreCase(args[i]) && i + 1 < args.length) memory = PageTranslator.parseSize(args[++i]);
+            else if ("--assoc".equalsIgnoreCase(args[i]) && i + 1 < args.length) assoc = SetAssociativePolicy.Layout.parse(args[++i]);
+            else if ("--shards".equalsIgnoreCase(args[i]) && i + 1 < args.length) shards = Integer.parseInt(args[++i]);
+            else positional.add(args[i]);
+        }
+        if (addrFile != null) {
+            // vários tamanhos de página numa passada sobre os endereços; o argumento é o número de molduras
+            long[] sizes = Arrays.stream(pageSizes.split(",")).mapToLong(PageTranslator::parseSize).toArray();
+            int[] frameCounts;
+            if (memory > 0) {
+                frameCounts = PageSizeSimulator.framesFor(memory, sizes);
+            } else if (!positional.isEmpty()) {
+                frameCounts = new int[sizes.length];
+                Arrays.fill(frameCounts, Integer.parseInt(positional.get(0)));
+            } else {
+                throw new IllegalArgumentException("Informe o número de molduras ou --memory");
+            }
+            try (AddressReader in = AddressReader.open(addrFile)) {
+                PageSizeSimulator.printCsv(PageSizeSimulator.run(in, sizes, frameCounts), System.out);
+            }
+            return;
+        }
+        if (traceFile == null && !positional.isEmpty()) seqStr = positional.remove(0);
+        if (framesArg == null && !positional.isEmpty()) framesArg = positional.get(0);
+        if (tick > 0 || tau > 0) Policies.configureTicks(tick, tau);
+
+        if (wsDelta > 0 && (traceFile != null || seqStr != null)) {
+            // conjunto de trabalho e PFF: CSV em stdout (bufferizado), resumo em stderr
+            java.io.PrintStream csv = new java.io.PrintStream(new java.io.BufferedOutputStream(
+                    new java.io.FileOutputStream(java.io.FileDescriptor.out), 1 << 16), false);
+            long pff = pffInterval > 0 ? pffInterval : wsDelta;
+            long every = sample > 0 ? sample : wsDelta;
+            WorkingSetSimulator.Summary summary;
+            if (traceFile != null) {
+                try (TraceSource in = TraceSource.open(traceFile)) {
+                    summary = WorkingSetSimulator.run(in, wsDelta, pff, every, csv);
+                }
+            } else {
+                summary = WorkingSetSimulator.run(parseTrace(seqStr).iterator(), wsDelta, pff, every, csv);
+            }
+            csv.flush();
+            summary.print(System.err);
+            return;
+        }
+        if (lookaheads != null && (traceFile != null || seqStr != null) && framesArg != null) {
+            // só o Ótimo verdadeiro materializa o trace; cada janela relê o arquivo em fluxo
+            frames = Integer.parseInt(framesArg);
+            IntTrace trace = loadTrace(traceFile, seqStr);
+            long opt = simulate(new OptimalPolicy(frames), trace, false).faults;
+            System.out.println("janela,faltas,ótimo,diferença,diferença_%");
+            for (String w : lookaheads.split(",")) {
+                int window = Integer.parseInt(w.trim());
+                ReplacementPolicy policy = new LookaheadOptimalPolicy(frames, window);
+                long faults;
+                if (traceFile != null && !readsStdin(traceFile)) {
+                    try (TraceSource in = TraceSource.open(traceFile)) {
+                        faults = simulate(policy, in, false).faults;
+                    }
+                } else {
+                    faults = simulate(policy, trace, false).faults;
+                }
+                System.out.printf(Locale.ROOT, "%d,%d,%d,%d,%.2f%n", window, faults, opt, faults - opt,
+                        opt == 0 ? 0.0 : 100.0 * (faults - opt) / opt);
+            }
+            return;
+        }
+        if (live > 0 && traceFile != null && framesArg != null) {
+            // fluxo ao vivo: uma passada alimenta todas as políticas online, sem guardar o trace
+            List<OnlineSimulator> sims = OnlineSimulator.forAll(Integer.parseInt(framesArg));
+            System.out.println("referências," + sims.stream().map(x -> x.policy().name())
+                    .map(a -> a.contains(",") ? '"' + a + '"' : a).collect(Collectors.joining(",")));
+            long n = 0;
+            try (TraceSource in = TraceSource.open(traceFile)) {
+                while (in.hasNext()) {
+                    int r = in.nextInt();
+                    boolean write = in.isWrite();
+                    for (OnlineSimulator sim : sims) sim.access(r, write);
+                    if (++n % live == 0 || !in.hasNext()) {
+                        StringBuilder line = new StringBuilder().append(n);
+                        for (OnlineSimulator sim : sims) line.append(',').append(sim.faults());
+                        System.out.println(line);
+                    }
+                }
             }
+            System.out.println("\nResumo (faltas por algoritmo):");
+            printSummary(sims.stream().map(OnlineSimulator::result).collect(Collectors.toList()), cost);
+            return;
+        }
+        if (shards > 0 && traceFile != null && framesArg != null && (assoc != null || procs != null)) {
+            // um trace grande em vários núcleos: dividido por conjunto (--assoc) ou por processo (--procs local)
+            frames = Integer.parseInt(framesArg);
+            if (assoc != null) {
+                List<Result> sharded;
+                try (TraceSource in = TraceSource.open(traceFile)) {
+                    sharded = ShardedSimulator.runSets(in, Policies.names(), assoc, frames, shards);
+                }
+                System.out.println("\nResumo (faltas por algoritmo, " + shards + " workers):");
+                printSummary(sharded, cost);
+                return;
+            }
+            ShardedSimulator.checkProcesses(procs);
+            if (procs.quota == 0) {
+                // quota padrão = frames / processos: conta os processos numa passada antes
+                if (readsStdin(traceFile)) throw new IllegalArgumentException("Com stdin, informe quota=N em --procs");
+                IntIntMap seen = new IntIntMap();
+                try (TraceSource in = TraceSource.open(traceFile)) {
+                    while (in.hasNext()) {
+                        in.nextInt();
+                        seen.put(in.pid(), 0);
+                    }
+                }
+                procs = new MultiProcessSimulator(procs.scope, procs.allocation, Math.max(1, frames / Math.max(seen.size(), 1)),
+                        procs.low, procs.high, procs.window, procs.thrash);
+            }
+            List<MultiProcessSimulator.Report> reports;
+            try (TraceSource in = TraceSource.open(traceFile)) {
+                reports = ShardedSimulator.runProcesses(in, Policies.names(), procs, frames, shards);
+            }
+            System.out.println("\nResumo (substituição local, alocação fixa, " + shards + " workers):");
+            for (MultiProcessSimulator.Report r : reports) r.printSummary(System.out);
+            if (verbose) {
+                for (MultiProcessSimulator.Report r : reports) {
+                    System.out.println("\n== " + r.name + " ==");
+                    r.printProcesses(System.out);
+                }
+            }
+            return;
+        }
+        if (procs != null && (traceFile != null || seqStr != null) && framesArg != null) {
+            // vários processos: todas as políticas sobre o mesmo trace materializado
+            List<MultiProcessSimulator.Report> reports =
+                    procs.run(loadTrace(traceFile, seqStr), Policies.names(), Integer.parseInt(framesArg));
+            System.out.println("\nResumo (" + (procs.scope == MultiProcessSimulator.Scope.GLOBAL ? "substituição global"
+                    : "substituição local, alocação " + (procs.allocation == MultiProcessSimulator.Allocation.PFF ? "por PFF" : "fixa")) + "):");
+            for (MultiProcessSimulator.Report r : reports) r.printSummary(System.out);
+            if (verbose) {
+                for (MultiProcessSimulator.Report r : reports) {
+                    System.out.println("\n== " + r.name + " ==");
+                    r.printProcesses(System.out);
+                }
+            }
+            return;
+        }
+        if (tlb != null && (traceFile != null || seqStr != null) && framesArg != null) {
+            // TLB + molduras: todas as políticas das molduras sobre o mesmo trace materializado
+            List<TlbSimulator.Report> reports = tlb.run(loadTrace(traceFile, seqStr), Policies.names(),
+                    Integer.parseInt(framesArg), cost != null ? cost : CostModel.DEFAULT);
+            System.out.println("\nResumo (" + tlb + "):");
+            for (TlbSimulator.Report r : reports) r.printSummary(System.out);
+            return;
+        }
+
+        if (lruCurve > 0 && (traceFile != null || seqStr != null)) {
+            // uma única passada de Mattson dá as faltas do LRU para 1..N molduras
+            StackDistance sd;
+            if (traceFile != null) {
+                try (TraceSource in = TraceSource.open(traceFile)) {
+                    sd = StackDistance.compute(in);
+                }
+            } else {
+                sd = StackDistance.compute(parseTrace(seqStr));
+            }
+            printFaultCurve("LRU", sd.faultCurve(lruCurve));
+            return;
+        }
+        if (framesArg != null && framesArg.contains("..") && (traceFile != null || seqStr != null)) {
+            // varredura: todos os pares (algoritmo, molduras) em paralelo sobre o mesmo trace
+            int[] range = FrameSweep.parseRange(framesArg);
+            FrameSweep.run(loadTrace(traceFile, seqStr), range[0], range[1], threads).printCsv(System.out);
+            return;
+        }
+        if ((traceFile != null || seqStr != null) && framesArg != null) {
+            frames = Integer.parseInt(framesArg);
         } else {
             Scanner sc = new Scanner(System.in);
             System.out.print("Sequência de páginas (ex: 7,0,1,2,0,3,0,4,2,3,0,3,2): ");
@@ -314,18 +666,50 @@ public class PageReplacementSimulator {
             verbose = sc.nextLine().trim().toLowerCase().startsWith("s");
             System.out.print("Abrir gráfico (GUI)? (s/n): ");
             gui = sc.nextLine().trim().toLowerCase().startsWith("s");
+            traceFile = null;
         }
 
-        List<Integer> refs = parseRefs(seqStr);
         List<Result> results = new ArrayList<>();
-        results.add(simulateFIFO(refs, frames));
-        results.add(simulateLRU(refs, frames));
-        results.add(simulateClock(refs, frames));
-        results.add(simulateOptimal(refs, frames));
+        // passos só são gravados quando a tabela vai ser impressa
+        if (traceFile != null && !readsStdin(traceFile)) {
+            // cada algoritmo relê o arquivo mapeado (ou regera o trace com a mesma semente);
+            // só OPT materializa o trace
+            for (String name : Policies.names()) results.add(simulateFile(traceFile, create(name, frames, assoc), verbose));
+        } else {
+            // stdin não pode ser relido: guarda as referências em um IntTrace
+            IntTrace refs = traceFile == null ? parseTrace(seqStr)
+                    : "-".equals(traceFile) ? TraceReader.of(System.in).readAll() : loadTrace(traceFile, null);
+            for (String name : Policies.names()) results.add(simulate(create(name, frames, assoc), refs, verbose));
+        }
 
         System.out.println("\nResumo (faltas por algoritmo):");
-        printSummary(results);
-        if (verbose) printVerbose(results, refs, frames);
+        printSummary(results, cost);
+        if (verbose) printVerbose(results, frames);
         if (gui) showBarChart(results);
     }
+
+    /** true se o trace vem de stdin ("-" ou "addr:tamanho:-") e não pode ser relido. */
+    private static boolean readsStdin(String traceFile) {
+        return "-".equals(traceFile) || traceFile.startsWith(TraceSource.ADDRESS_PREFIX) && traceFile.endsWith(":-");
+    }
+
+    /** Materializa o trace do arquivo/gerador (ou da sequência da linha de comando). */
+    private static IntTrace loadTrace(String traceFile, String seqStr) throws java.io.IOException {
+        if (traceFile == null) return parseTrace(seqStr);
+        try (TraceSource in = TraceSource.open(traceFile)) {
+            return IntTrace.from(in);
+        }
+    }
+
+    /** A política registrada, totalmente associativa ou, com --assoc, por conjuntos. */
+    private static ReplacementPolicy create(String policy, int frames, SetAssociativePolicy.Layout assoc) {
+        return assoc == null ? Policies.create(policy, frames) : assoc.create(policy, frames);
+    }
+
+    private static Result simulateFile(String path, ReplacementPolicy policy, boolean recordSteps)
+            throws java.io.IOException {
+        try (TraceSource in = TraceSource.open(path)) {
+            return simulate(policy, in, recordSteps);
+        }
+    }
 }
@@ -2,14 +2,25 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 
 /**
  * Interface Swing para o PageReplacementSimulator
  * Permite inserir a sequência, número de frames, escolher algoritmo
  * e visualizar passo a passo em uma tabela. Também integra o gráfico
  * já existente em PageReplacementSimulator.showBarChart.
+ *
+ * As simulações rodam fora da thread do Swing (SwingWorker), uma tarefa por algoritmo em
+ * paralelo; a barra de progresso conta as referências processadas e o botão Cancelar
+ * interrompe as tarefas.
  */
 public class PageReplacementSimulatorGUI {
 
@@ -17,7 +28,9 @@ public class PageReplacementSimulatorGUI {
     private JTextField seqField;
     private JSpinner framesSpinner;
     private JComboBox<String> algoCombo;
-    private JButton runBtn, prevBtn, nextBtn, chartBtn;
+    private JButton runBtn, prevBtn, nextBtn, chartBtn, cancelBtn;
+    private JProgressBar progressBar;
+    private SimulationWorker worker; // simulação em andamento, ou null
     private JTable table;
     private JPanel resultsPanel; // Container para múltiplas tabelas
     private JScrollPane resultsScrollPane;
@@ -27,6 +40,7 @@ public class PageReplacementSimulatorGUI {
     private List<PageReplacementSimulator.Result> allResults; // para mode "Todos"
     private int currentStepIndex = 0;
     private boolean isAllMode = false; // indica se está em modo "Todos"
+    private final List<StepTableModel> stepModels = new ArrayList<>(); // uma linha por algoritmo (modo "Todos")
 
     // Cores customizadas
     private static final Color PRIMARY_COLOR = new Color(41, 128, 185);
@@ -69,7 +83,7 @@ public class PageReplacementSimulatorGUI {
         c.gridwidth = 1;
         c.gridx = 0;
         c.gridy = 1;
-        JLabel seqLabel = new JLabel("Sequência (ex: 7,0,1,2,0,3...):");
+        JLabel seqLabel = new JLabel("Sequência (ex: 7,0,1,2,0,3... ou gen:/@arquivo):");
         seqLabel.setFont(new Font("Arial", Font.BOLD, 12));
         seqLabel.setForeground(TEXT_COLOR);
         top.add(seqLabel, c);
@@ -100,7 +114,9 @@ public class PageReplacementSimulatorGUI {
         algoLabel.setFont(new Font("Arial", Font.BOLD, 12));
         algoLabel.setForeground(TEXT_COLOR);
         top.add(algoLabel, c);
-        algoCombo = new JComboBox<>(new String[] { "Todos", "FIFO", "LRU", "Relógio", "Ótimo" });
+        algoCombo = new JComboBox<>();
+        algoCombo.addItem("Todos");
+        for (String name : Policies.names()) algoCombo.addItem(name);
         algoCombo.setFont(new Font("Arial", Font.PLAIN, 11));
         c.gridx = 3;
         c.gridy = 2;
@@ -165,6 +181,31 @@ public class PageReplacementSimulatorGUI {
         c.gridwidth = 4;
         top.add(summaryLabel, c);
 
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setForeground(SUCCESS_COLOR);
+        c.gridx = 0;
+        c.gridy = 5;
+        c.gridwidth = 3;
+        c.fill = GridBagConstraints.HORIZONTAL;
+        top.add(progressBar, c);
+        c.fill = GridBagConstraints.NONE;
+
+        cancelBtn = new JButton("✖ Cancelar");
+        cancelBtn.setFont(new Font("Arial", Font.BOLD, 12));
+        cancelBtn.setBackground(WARNING_COLOR);
+        cancelBtn.setForeground(Color.WHITE);
+        cancelBtn.setFocusPainted(false);
+        cancelBtn.setBorderPainted(false);
+        cancelBtn.addActionListener((_) -> {
+            if (worker != null) worker.cancel(true);
+        });
+        cancelBtn.setEnabled(false);
+        c.gridx = 3;
+        c.gridy = 5;
+        c.gridwidth = 1;
+        top.add(cancelBtn, c);
+
         frame.getContentPane().add(top, BorderLayout.NORTH);
 
         // Tabela única para modo single
@@ -215,16 +256,20 @@ public class PageReplacementSimulatorGUI {
         textArea.setBackground(BG_COLOR);
         textArea.setForeground(TEXT_COLOR);
 
+        List<String> policies = Policies.names();
         String tutorialText = "BEM-VINDO AO SIMULADOR DE SUBSTITUICAO DE PAGINAS!" +
                 "\n\nELEMENTOS DA INTERFACE:" +
                 "\n\n1. SEQUENCIA (ex: 7,0,1,2,0,3...)" +
                 "\n   - Insira a sequencia de referencias de pagina separadas por virgula." +
                 "\n   - Esta eh a ordem em que as paginas serao acessadas na memoria." +
+                "\n   - Tambem aceita 'gen:especificacao' (trace sintetico, ex: gen:zipf:n=1e6)" +
+                "\n     ou '@arquivo' (trace em texto ou binario)." +
                 "\n\n2. FRAMES" +
                 "\n   - Numero de espacos disponiveis na memoria." +
                 "\n   - Quanto menor o valor, mais faltas de pagina." +
                 "\n\n3. ALGORITMO" +
-                "\n   - TODOS: Executa os 4 algoritmos simultaneamente" +
+                "\n   - TODOS: Executa os " + policies.size() + " algoritmos registrados simultaneamente" +
+                "\n     (" + String.join(", ", policies) + ")" +
                 "\n   - FIFO: First In, First Out (fila simples)" +
                 "\n   - LRU: Least Recently Used (pagina menos usada recentemente)" +
                 "\n   - RELOGIO: Variacao do LRU com bit de uso" +
@@ -234,6 +279,7 @@ public class PageReplacementSimulatorGUI {
                 "\n2. Defina o numero de frames disponiveis" +
                 "\n3. Escolha um algoritmo (recomendado: 'Todos' para comparar)" +
                 "\n4. Clique em 'Executar'" +
+                "\n   (a barra mostra o progresso; 'Cancelar' interrompe simulacoes longas)" +
                 "\n5. Use 'Anterior' e 'Proximo' para navegar passo a passo" +
                 "\n6. Um grafico sera exibido automaticamente com os resultados" +
                 "\n\nINTERPRETANDO OS RESULTADOS:" +
@@ -270,187 +316,255 @@ public class PageReplacementSimulatorGUI {
     }
 
     private void onRun(ActionEvent ev) {
-        String seq = seqField.getText().trim();
-        int frames = (Integer) framesSpinner.getValue();
-        List<Integer> refs;
-        try {
-            refs = PageReplacementSimulator.parseRefs(seq);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(frame, "Sequência inválida: " + ex.getMessage());
-            return;
-        }
-
         String choice = (String) algoCombo.getSelectedItem();
-        allResults = new ArrayList<>();
-
-        if ("Todos".equals(choice)) {
-            isAllMode = true;
-            allResults.add(PageReplacementSimulator.simulateFIFO(refs, frames));
-            allResults.add(PageReplacementSimulator.simulateLRU(refs, frames));
-            allResults.add(PageReplacementSimulator.simulateClock(refs, frames));
-            allResults.add(PageReplacementSimulator.simulateOptimal(refs, frames));
-            summaryLabel.setText(buildSummary(allResults));
+        int frames = (Integer) framesSpinner.getValue();
+        List<String> names = "Todos".equals(choice) ? Policies.names() : List.of(choice);
+        startSimulation(names, frames, true, results -> {
+            allResults = results;
             currentStepIndex = 0;
-            updateTableForAllAlgorithms(frames);
-            showStep(0);
-            prevBtn.setEnabled(true);
-            nextBtn.setEnabled(true);
-        } else {
-            isAllMode = false;
-            switch (choice) {
-                case "FIFO":
-                    currentResult = PageReplacementSimulator.simulateFIFO(refs, frames);
-                    break;
-                case "LRU":
-                    currentResult = PageReplacementSimulator.simulateLRU(refs, frames);
-                    break;
-                case "Relógio":
-                    currentResult = PageReplacementSimulator.simulateClock(refs, frames);
-                    break;
-                case "Ótimo":
-                    currentResult = PageReplacementSimulator.simulateOptimal(refs, frames);
-                    break;
-                default:
-                    currentResult = PageReplacementSimulator.simulateFIFO(refs, frames);
+            if ("Todos".equals(choice)) {
+                isAllMode = true;
+                summaryLabel.setText(buildSummary(allResults));
+                updateTableForAllAlgorithms(frames);
+            } else {
+                isAllMode = false;
+                currentResult = results.get(0);
+                summaryLabel.setText(String.format("%s - %d faltas", currentResult.name, currentResult.faults));
+                updateTableForFrames();
             }
-            summaryLabel.setText(String.format("%s - %d faltas", currentResult.name, currentResult.faults));
-            currentStepIndex = 0;
-            updateTableForFrames(frames);
             showStep(0);
             prevBtn.setEnabled(true);
             nextBtn.setEnabled(true);
+        });
+    }
+
+    /**
+     * Lê a sequência e simula os algoritmos em segundo plano; onDone recebe os resultados
+     * (na ordem de names) na thread do Swing.
+     */
+    private void startSimulation(List<String> names, int frames, boolean recordSteps,
+            Consumer<List<PageReplacementSimulator.Result>> onDone) {
+        if (worker != null) return;
+        worker = new SimulationWorker(seqField.getText().trim(), names, frames, recordSteps, onDone);
+        worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) progressBar.setValue((Integer) e.getNewValue());
+        });
+        setRunning(true);
+        worker.execute();
+    }
+
+    private void setRunning(boolean running) {
+        runBtn.setEnabled(!running);
+        chartBtn.setEnabled(!running);
+        cancelBtn.setEnabled(running);
+        if (running) {
+            prevBtn.setEnabled(false);
+            nextBtn.setEnabled(false);
+            progressBar.setValue(0);
+            summaryLabel.setText("Simulando...");
+        } else if (allResults != null) {
+            prevBtn.setEnabled(true); // resultados anteriores continuam navegáveis
+            nextBtn.setEnabled(true);
         }
     }
 
-    private void checkIfLastStep() {
-        if (isAllMode) {
-            int maxSteps = allResults.get(0).steps.size();
-            if (currentStepIndex >= maxSteps - 1) {
+    /**
+     * Simulação em segundo plano: cada algoritmo é uma tarefa num pool de threads, todas sobre o
+     * mesmo trace (somente leitura). As tarefas somam as referências processadas (avisos de
+     * PageReplacementSimulator.simulate) para o progresso; cancel(true) interrompe o worker,
+     * que interrompe as tarefas. done() roda logo após o cancelamento, com as tarefas ainda
+     * saindo: os controles só voltam depois que o pool terminou (stopped).
+     */
+    private final class SimulationWorker extends SwingWorker<List<PageReplacementSimulator.Result>, Void> {
+        private final String seq;
+        private final List<String> names;
+        private final int frames;
+        private final boolean recordSteps;
+        private final Consumer<List<PageReplacementSimulator.Result>> onDone;
+        private volatile boolean started, stopped; // doInBackground começou / saiu com o pool encerrado
+
+        SimulationWorker(String seq, List<String> names, int frames, boolean recordSteps,
+                Consumer<List<PageReplacementSimulator.Result>> onDone) {
+            this.seq = seq;
+            this.names = names;
+            this.frames = frames;
+            this.recordSteps = recordSteps;
+            this.onDone = onDone;
+        }
+
+        @Override
+        protected List<PageReplacementSimulator.Result> doInBackground() throws Exception {
+            started = true;
+            try {
+                return simulateAll();
+            } finally {
+                stopped = true;
                 SwingUtilities.invokeLater(() -> {
-                    try {
-                        Thread.sleep(1000); // 1 segundo de espera
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                    PageReplacementSimulator.showBarChart(allResults);
+                    if (isCancelled()) finishCancelled();
                 });
             }
-        } else {
-            if (currentResult != null && currentStepIndex >= currentResult.steps.size() - 1) {
-                SwingUtilities.invokeLater(() -> {
+        }
+
+        private List<PageReplacementSimulator.Result> simulateAll() throws Exception {
+            IntTrace refs = readSequence(seq);
+            if (refs.size() == 0) throw new IllegalArgumentException("sequência vazia");
+            long total = (long) refs.size() * names.size();
+            AtomicLong processed = new AtomicLong();
+            int threads = Math.min(names.size(), Runtime.getRuntime().availableProcessors());
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<PageReplacementSimulator.Result>> tasks = new ArrayList<>();
+                for (String name : names) {
+                    tasks.add(pool.submit(() -> PageReplacementSimulator.simulate(Policies.create(name, frames), refs,
+                            recordSteps, n -> setProgress((int) (processed.addAndGet(n) * 100 / total)))));
+                }
+                List<PageReplacementSimulator.Result> results = new ArrayList<>();
+                for (Future<PageReplacementSimulator.Result> task : tasks) {
                     try {
-                        Thread.sleep(1000); // 1 segundo de espera
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
+                        results.add(task.get());
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof Exception ex) throw ex;
+                        if (e.getCause() instanceof Error err) throw err;
+                        throw e;
                     }
-                    List<PageReplacementSimulator.Result> singleResult = new ArrayList<>();
-                    singleResult.add(currentResult);
-                    PageReplacementSimulator.showBarChart(singleResult);
-                });
+                }
+                return results;
+            } finally {
+                pool.shutdownNow(); // cancelamento ou falha: interrompe as tarefas restantes
+                awaitTermination(pool);
             }
         }
-    }
 
-    private void updateTableForAllAlgorithms(int frames) {
-        // Cria colunas: Ref + F0..Fn-1 + Falta
-        String[] cols = new String[2 + frames];
-        cols[0] = "Ref";
-        for (int i = 0; i < frames; i++) {
-            cols[1 + i] = "F" + i;
+        /** Espera as tarefas saírem mesmo com esta thread interrompida (cancel(true)). */
+        private void awaitTermination(ExecutorService pool) {
+            boolean interrupted = Thread.interrupted();
+            while (true) {
+                try {
+                    if (pool.awaitTermination(1, TimeUnit.MINUTES)) break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
         }
-        cols[cols.length - 1] = "Falta";
 
-        DefaultTableModel model = new DefaultTableModel(cols, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        table.setModel(model);
-    }
+        /** Cancelado e com o pool encerrado: libera os controles (uma vez só). */
+        private void finishCancelled() {
+            if (worker != this) return;
+            worker = null;
+            setRunning(false);
+            progressBar.setValue(0);
+            summaryLabel.setText("Simulação cancelada");
+        }
 
-    private void updateTableForFrames(int frames) {
-        // coluna Ref + F0..Fn-1 + Falta
-        String[] cols = new String[2 + frames];
-        cols[0] = "Ref";
-        for (int i = 0; i < frames; i++)
-            cols[1 + i] = "F" + i;
-        cols[cols.length - 1] = "Falta";
-        DefaultTableModel model = new DefaultTableModel(cols, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                if (stopped || !started) { // sem pool ou já encerrado
+                    finishCancelled();
+                } else {
+                    cancelBtn.setEnabled(false); // as tarefas ainda estão saindo
+                    summaryLabel.setText("Cancelando...");
+                }
+                return;
+            }
+            worker = null;
+            setRunning(false);
+            List<PageReplacementSimulator.Result> results;
+            try {
+                results = get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                summaryLabel.setText(" ");
+                if (cause instanceof IllegalArgumentException || cause instanceof java.io.IOException) {
+                    JOptionPane.showMessageDialog(frame, "Sequência inválida: " + cause.getMessage());
+                } else {
+                    JOptionPane.showMessageDialog(frame, "Falha na simulação: " + cause);
+                }
+                return;
             }
-        };
-        table.setModel(model);
+            onDone.accept(results);
+        }
     }
 
-    private void showStep(int idx) {
+    private void checkIfLastStep() {
+        // gráfico 1 segundo depois do último passo, sem bloquear a thread do Swing
+        List<PageReplacementSimulator.Result> results;
         if (isAllMode) {
-            showStepAllAlgorithms(idx);
+            if (allResults == null || currentStepIndex < allResults.get(0).log.size() - 1) return;
+            results = allResults;
         } else {
-            showStepSingleAlgorithm(idx);
+            if (currentResult == null || currentStepIndex < currentResult.log.size() - 1) return;
+            results = List.of(currentResult);
         }
+        Timer delay = new Timer(1000, (_) -> PageReplacementSimulator.showBarChart(results));
+        delay.setRepeats(false);
+        delay.start();
     }
 
-    private void showStepSingleAlgorithm(int idx) {
-        if (currentResult == null)
-            return;
-        if (idx < 0)
-            idx = 0;
-        if (idx >= currentResult.steps.size())
-            idx = currentResult.steps.size() - 1;
-        currentStepIndex = idx;
-        PageReplacementSimulator.Step st = currentResult.steps.get(idx);
-
-        // Trocar para visualização de tabela única
-        resultsScrollPane.setViewportView(table);
+    /**
+     * Modelo virtual sobre o StepLog de um resultado: nenhuma linha é guardada, cada célula é
+     * lida do registro quando a JTable a desenha (só as visíveis). Com allSteps = true há uma
+     * linha por passo (coluna "#" com o número do passo); senão, uma única linha com o passo
+     * atual, trocado por setStep.
+     */
+    private static final class StepTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+
+        private final transient StepLog log; // o modelo só vive na tela, não é serializado
+        private final boolean allSteps;
+        private final int first; // coluna da primeira moldura
+        private int step;
+
+        StepTableModel(StepLog log, boolean allSteps) {
+            this.log = log;
+            this.allSteps = allSteps;
+            this.first = allSteps ? 2 : 1;
+        }
 
-        DefaultTableModel model = (DefaultTableModel) table.getModel();
-        model.setRowCount(0);
+        void setStep(int step) {
+            this.step = step;
+            if (!allSteps) fireTableRowsUpdated(0, 0);
+        }
 
-        // TABELA - SOMENTE DADOS (sem título)
-        Object[] dataRow = new Object[model.getColumnCount()];
-        dataRow[0] = st.ref;
-        for (int i = 0; i < st.framesSnapshot.size() && i + 1 < dataRow.length; i++) {
-            Integer v = st.framesSnapshot.get(i);
-            dataRow[1 + i] = v == null ? "-" : v.toString();
+        @Override public int getRowCount() {
+            return allSteps ? log.size() : 1;
         }
-        dataRow[dataRow.length - 1] = st.fault ? "*" : " ";
-        model.addRow(dataRow);
 
-        summaryLabel.setText(String.format("%s - Passo %d/%d - %d faltas", currentResult.name, currentStepIndex + 1,
-                currentResult.steps.size(), currentResult.faults));
-    }
+        @Override public int getColumnCount() {
+            return first + log.frames() + 1;
+        }
 
-    private void showStepAllAlgorithms(int idx) {
-        if (allResults == null || allResults.isEmpty())
-            return;
+        @Override public String getColumnName(int col) {
+            if (allSteps && col == 0) return "#";
+            if (col == first - 1) return "Ref";
+            if (col == getColumnCount() - 1) return "Falta";
+            return "F" + (col - first);
+        }
 
-        // Validar índice
-        int maxSteps = allResults.get(0).steps.size();
-        if (idx < 0)
-            idx = 0;
-        if (idx >= maxSteps)
-            idx = maxSteps - 1;
-        currentStepIndex = idx;
+        @Override public Object getValueAt(int row, int col) {
+            int s = allSteps ? row : step;
+            if (allSteps && col == 0) return s + 1;
+            if (col == first - 1) return log.ref(s);
+            if (col == getColumnCount() - 1) return log.fault(s) ? "*" : " ";
+            int page = log.pageAt(s, col - first);
+            return page == ReplacementPolicy.EMPTY ? "-" : Integer.toString(page);
+        }
+    }
 
-        // Limpar o panel de resultados
+    private void updateTableForAllAlgorithms(int frames) {
+        // Título + tabela de uma linha por algoritmo, criados uma vez por execução; a
+        // navegação só troca o passo dos modelos.
         resultsPanel.removeAll();
-
-        // Pegar número de frames
-        int frames = allResults.get(0).steps.get(0).framesSnapshot.size();
-
-        // Nomes dos algoritmos
-        String[] algoNames = { "FIFO", "LRU", "Relógio", "Ótimo" };
-
-        // Para cada algoritmo: criar TÍTULO (JLabel) + TABELA (JTable)
+        stepModels.clear();
         for (int algoIdx = 0; algoIdx < allResults.size(); algoIdx++) {
             PageReplacementSimulator.Result result = allResults.get(algoIdx);
-            PageReplacementSimulator.Step st = result.steps.get(idx);
 
             // ===== TÍTULO FORA DA TABELA =====
-            JLabel titleLabel = new JLabel(">>> " + algoNames[algoIdx] + " <<<");
+            JLabel titleLabel = new JLabel(">>> " + result.name + " <<<");
             titleLabel.setFont(new Font("Arial", Font.BOLD, 14));
             titleLabel.setForeground(PRIMARY_COLOR);
             titleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -458,31 +572,9 @@ public class PageReplacementSimulatorGUI {
             resultsPanel.add(titleLabel);
 
             // ===== TABELA SOMENTE COM DADOS =====
-            DefaultTableModel model = new DefaultTableModel();
-
-            // Colunas
-            model.addColumn("Ref");
-            for (int i = 0; i < frames; i++) {
-                model.addColumn("F" + i);
-            }
-            model.addColumn("Falta");
-
-            // Dados
-            Object[] dataRow = new Object[1 + frames + 1];
-            dataRow[0] = st.ref;
-            for (int i = 0; i < st.framesSnapshot.size(); i++) {
-                Integer v = st.framesSnapshot.get(i);
-                dataRow[1 + i] = v == null ? "-" : v.toString();
-            }
-            dataRow[dataRow.length - 1] = st.fault ? "*" : " ";
-            model.addRow(dataRow);
-
-            JTable algoTable = new JTable(model) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false;
-                }
-            };
+            StepTableModel model = new StepTableModel(result.log, false);
+            stepModels.add(model);
+            JTable algoTable = new JTable(model);
             algoTable.setFont(new Font("Arial", Font.PLAIN, 11));
             algoTable.setRowHeight(25);
             algoTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
@@ -504,18 +596,64 @@ public class PageReplacementSimulatorGUI {
                 resultsPanel.add(Box.createVerticalStrut(20));
             }
         }
-
-        // Atualizar o scroll para mostrar o resultsPanel
         resultsScrollPane.setViewportView(resultsPanel);
         resultsScrollPane.revalidate();
         resultsScrollPane.repaint();
+    }
+
+    private void updateTableForFrames() {
+        // coluna # + Ref + F0..Fn-1 + Falta, uma linha por passo (virtual)
+        table.setModel(new StepTableModel(currentResult.log, true));
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultsScrollPane.setViewportView(table);
+    }
+
+    private void showStep(int idx) {
+        if (isAllMode) {
+            showStepAllAlgorithms(idx);
+        } else {
+            showStepSingleAlgorithm(idx);
+        }
+    }
+
+    private void showStepSingleAlgorithm(int idx) {
+        if (currentResult == null)
+            return;
+        int steps = currentResult.log.size();
+        if (idx < 0)
+            idx = 0;
+        if (idx >= steps)
+            idx = steps - 1;
+        currentStepIndex = idx;
+
+        // Seleciona e rola até a linha do passo; a tabela só desenha as linhas visíveis
+        table.setRowSelectionInterval(idx, idx);
+        table.scrollRectToVisible(table.getCellRect(idx, 0, true));
+
+        summaryLabel.setText(String.format("%s - Passo %d/%d - %d faltas", currentResult.name, currentStepIndex + 1,
+                steps, currentResult.faults));
+    }
+
+    private void showStepAllAlgorithms(int idx) {
+        if (allResults == null || allResults.isEmpty())
+            return;
+
+        // Validar índice
+        int maxSteps = allResults.get(0).log.size();
+        if (idx < 0)
+            idx = 0;
+        if (idx >= maxSteps)
+            idx = maxSteps - 1;
+        currentStepIndex = idx;
+
+        for (StepTableModel model : stepModels) model.setStep(idx);
 
         // Atualizar label com resumo
         StringBuilder summary = new StringBuilder("Passo " + (currentStepIndex + 1) + "/" + maxSteps + " | Referência: "
-                + allResults.get(0).steps.get(idx).ref + " | ");
+                + allResults.get(0).log.ref(idx) + " | ");
         for (int i = 0; i < allResults.size(); i++) {
             PageReplacementSimulator.Result r = allResults.get(i);
-            summary.append(algoNames[i]).append("=").append(r.faults).append(" faltas  ");
+            summary.append(r.name).append("=").append(r.faults).append(" faltas  ");
         }
         summaryLabel.setText(summary.toString());
     }
@@ -529,46 +667,23 @@ public class PageReplacementSimulatorGUI {
     }
 
     private void onShowChart() {
-        // se o usuário selecionou "Todos", gera os quatro resultados e chama
-        // showBarChart
+        // se o usuário selecionou "Todos", gera o resultado de cada política e chama
+        // showBarChart; com um único algoritmo o gráfico mostra apenas uma barra
         String choice = (String) algoCombo.getSelectedItem();
-        String seq = seqField.getText().trim();
         int frames = (Integer) framesSpinner.getValue();
-        List<Integer> refs;
-        try {
-            refs = PageReplacementSimulator.parseRefs(seq);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(frame, "Sequência inválida: " + ex.getMessage());
-            return;
-        }
-
-        if ("Todos".equals(choice)) {
-            List<PageReplacementSimulator.Result> results = new ArrayList<>();
-            results.add(PageReplacementSimulator.simulateFIFO(refs, frames));
-            results.add(PageReplacementSimulator.simulateLRU(refs, frames));
-            results.add(PageReplacementSimulator.simulateClock(refs, frames));
-            results.add(PageReplacementSimulator.simulateOptimal(refs, frames));
-            PageReplacementSimulator.showBarChart(results);
-        } else {
-            // mostrar gráfico com apenas um algoritmo (único bar)
-            List<PageReplacementSimulator.Result> results = new ArrayList<>();
-            switch (choice) {
-                case "FIFO":
-                    results.add(PageReplacementSimulator.simulateFIFO(refs, frames));
-                    break;
-                case "LRU":
-                    results.add(PageReplacementSimulator.simulateLRU(refs, frames));
-                    break;
-                case "Relógio":
-                    results.add(PageReplacementSimulator.simulateClock(refs, frames));
-                    break;
-                case "Ótimo":
-                    results.add(PageReplacementSimulator.simulateOptimal(refs, frames));
-                    break;
-                default:
-                    results.add(PageReplacementSimulator.simulateFIFO(refs, frames));
-            }
+        startSimulation("Todos".equals(choice) ? Policies.names() : List.of(choice), frames, false, results -> {
+            summaryLabel.setText(buildSummary(results));
             PageReplacementSimulator.showBarChart(results);
+        });
+    }
+
+    /** Sequência digitada, "gen:especificação" (TraceGenerator) ou "@arquivo" (texto ou binário). */
+    private static IntTrace readSequence(String seq) throws java.io.IOException {
+        if (!seq.startsWith(TraceSource.GENERATOR_PREFIX) && !seq.startsWith("@")) {
+            return PageReplacementSimulator.parseTrace(seq);
+        }
+        try (TraceSource in = TraceSource.open(seq.startsWith("@") ? seq.substring(1) : seq)) {
+            return IntTrace.from(in);
         }
     }
 
@@ -0,0 +1,91 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compara tamanhos de página numa única passada sobre um trace de endereços virtuais: cada
+ * acesso lido vai para um PageTranslator por tamanho (4K, 2M, 1G, ...) e cada referência que
+ * ele entrega alimenta um OnlineSimulator por política. O trace não é guardado, então o Ótimo
+ * (que precisa do futuro) fica de fora.
+ *
+ * Para comparar com a mesma memória física, o número de molduras de cada tamanho pode vir de
+ * um total em bytes (memória / tamanho da página); senão todos usam o mesmo número de molduras.
+ */
+public class PageSizeSimulator {
+    /** Resultado de um tamanho de página: contagens da tradução e faltas de cada política. */
+    public static class Report {
+        public final long pageSize;
+        public final int frames;
+        public final long addresses, references;
+        public final int pages;
+        public final List<PageReplacementSimulator.Result> results;
+
+        Report(long pageSize, int frames, long addresses, long references, int pages,
+               List<PageReplacementSimulator.Result> results) {
+            this.pageSize = pageSize;
+            this.frames = frames;
+            this.addresses = addresses;
+            this.references = references;
+            this.pages = pages;
+            this.results = results;
+        }
+    }
+
+    /** Molduras de cada tamanho para memory bytes de memória (pelo menos 1). */
+    public static int[] framesFor(long memory, long[] pageSizes) {
+        int[] frames = new int[pageSizes.length];
+        for (int k = 0; k < pageSizes.length; k++) {
+            frames[k] = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memory / pageSizes[k]));
+        }
+        return frames;
+    }
+
+    public static List<Report> run(AddressReader in, long[] pageSizes, int[] frames) {
+        int sizes = pageSizes.length;
+        PageTranslator[] translators = new PageTranslator[sizes];
+        List<List<OnlineSimulator>> sims = new ArrayList<>(sizes);
+        for (int k = 0; k < sizes; k++) {
+            translators[k] = new PageTranslator(pageSizes[k]);
+            sims.add(OnlineSimulator.forAll(frames[k]));
+        }
+        while (in.next()) {
+            long address = in.address();
+            boolean write = in.isWrite();
+            for (int k = 0; k < sizes; k++) {
+                if (translators[k].push(address, write)) feed(translators[k], sims.get(k));
+            }
+        }
+        List<Report> reports = new ArrayList<>(sizes);
+        for (int k = 0; k < sizes; k++) {
+            PageTranslator t = translators[k];
+            if (t.flush()) feed(t, sims.get(k));
+            reports.add(new Report(pageSizes[k], frames[k], t.addresses(), t.references(), t.pages(),
+                    sims.get(k).stream().map(OnlineSimulator::result).collect(Collectors.toList())));
+        }
+        return reports;
+    }
+
+    private static void feed(PageTranslator t, List<OnlineSimulator> sims) {
+        int page = t.page();
+        boolean write = t.isWrite();
+        for (OnlineSimulator sim : sims) sim.access(page, write);
+    }
+
+    /** CSV: uma linha por tamanho de página, com as faltas de cada política. */
+    public static void printCsv(List<Report> reports, PrintStream out) {
+        if (reports.isEmpty()) return;
+        out.println("página,molduras,memória,endereços,referências,páginas," + reports.get(0).results.stream()
+                .map(r -> r.name.contains(",") ? '"' + r.name + '"' : r.name)
+                .collect(Collectors.joining(",")));
+        StringBuilder line = new StringBuilder();
+        for (Report r : reports) {
+            line.setLength(0);
+            line.append(PageTranslator.formatSize(r.pageSize)).append(',').append(r.frames).append(',')
+                    .append(PageTranslator.formatSize(r.pageSize * r.frames)).append(',').append(r.addresses)
+                    .append(',').append(r.references).append(',').append(r.pages);
+            for (PageReplacementSimulator.Result res : r.results) line.append(',').append(res.faults);
+            out.println(line);
+        }
+    }
+}
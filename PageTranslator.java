@@ -0,0 +1,121 @@
+import java.util.Locale;
+
+/**
+ * Endereço virtual -> número de página para um tamanho de página (potência de 2, ex.: 4K, 2M,
+ * 1G), juntando referências seguidas à mesma página numa só (ela é escrita se algum acesso da
+ * sequência escreveu). Os números de página de 64 bits viram identificadores densos (0, 1,
+ * 2, ... na ordem da primeira referência, via LongIntMap), que é o que as políticas esperam.
+ *
+ * Uso: push(endereço, escrita) a cada acesso; quando devolve true, page()/isWrite() são a
+ * referência que acabou de se completar. No fim do trace, flush() entrega a última.
+ */
+public class PageTranslator {
+    private final long pageSize;
+    private final int shift;
+    private final LongIntMap ids = new LongIntMap();
+    private int pending = -1;
+    private boolean pendingWrite;
+    private int page;
+    private boolean write;
+    private long addresses, references;
+
+    public PageTranslator(long pageSize) {
+        if (pageSize <= 0 || Long.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException("Tamanho de página deve ser potência de 2: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.shift = Long.numberOfTrailingZeros(pageSize);
+    }
+
+    /** Lê "4096", "4k", "2M", "1g" (potências de 1024). */
+    public static long parseSize(String s) {
+        String t = s.trim().toLowerCase(Locale.ROOT);
+        if (t.endsWith("b")) t = t.substring(0, t.length() - 1);
+        long unit = 1;
+        if (!t.isEmpty()) {
+            switch (t.charAt(t.length() - 1)) {
+                case 'k' -> unit = 1L << 10;
+                case 'm' -> unit = 1L << 20;
+                case 'g' -> unit = 1L << 30;
+                case 't' -> unit = 1L << 40;
+                default -> { }
+            }
+        }
+        if (unit > 1) t = t.substring(0, t.length() - 1);
+        try {
+            return Math.multiplyExact(Long.parseLong(t.trim()), unit);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Tamanho inválido: " + s);
+        }
+    }
+
+    /** "4K", "2M", "1G" ou bytes. */
+    public static String formatSize(long bytes) {
+        if (bytes >= 1L << 30 && bytes % (1L << 30) == 0) return (bytes >> 30) + "G";
+        if (bytes >= 1L << 20 && bytes % (1L << 20) == 0) return (bytes >> 20) + "M";
+        if (bytes >= 1L << 10 && bytes % (1L << 10) == 0) return (bytes >> 10) + "K";
+        return Long.toString(bytes);
+    }
+
+    public long pageSize() {
+        return pageSize;
+    }
+
+    /** Acesso ao endereço; true se completou a referência anterior (ver page()). */
+    public boolean push(long address, boolean write) {
+        addresses++;
+        long number = address >>> shift;
+        int id = ids.get(number, -1);
+        if (id < 0) {
+            id = ids.size();
+            ids.put(number, id);
+        }
+        if (id == pending) {
+            pendingWrite |= write;
+            return false;
+        }
+        boolean completed = pending >= 0;
+        if (completed) emit();
+        pending = id;
+        pendingWrite = write;
+        return completed;
+    }
+
+    /** Fim do trace: true se ainda havia uma referência (ver page()). */
+    public boolean flush() {
+        if (pending < 0) return false;
+        emit();
+        pending = -1;
+        return true;
+    }
+
+    private void emit() {
+        page = pending;
+        write = pendingWrite;
+        references++;
+    }
+
+    /** Página (identificador denso) da referência completada. */
+    public int page() {
+        return page;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    /** Acessos recebidos. */
+    public long addresses() {
+        return addresses;
+    }
+
+    /** Referências entregues (acessos menos os juntados). */
+    public long references() {
+        return references;
+    }
+
+    /** Páginas distintas vistas. */
+    public int pages() {
+        return ids.size();
+    }
+}
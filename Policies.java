@@ -0,0 +1,53 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Registro das políticas disponíveis, na ordem em que aparecem no resumo, na tabela
+ * passo a passo e na GUI. Uma política nova só precisa ser registrada aqui.
+ */
+public final class Policies {
+    private static final Map<String, IntFunction<ReplacementPolicy>> REGISTRY = new LinkedHashMap<>();
+
+    static {
+        register("FIFO", FifoPolicy::new);
+        register("LRU", LruPolicy::new);
+        register("Relógio", ClockPolicy::new);
+        register("Ótimo", OptimalPolicy::new);
+        register("ARC", ArcPolicy::new);
+        register("CLOCK-Pro", ClockProPolicy::new);
+        register("LIRS", LirsPolicy::new);
+        register("2Q", TwoQueuePolicy::new);
+        register("Relógio (R,M)", EnhancedClockPolicy::new);
+        configureTicks(0, 0);
+    }
+
+    private Policies() {
+    }
+
+    public static synchronized void register(String name, IntFunction<ReplacementPolicy> factory) {
+        REGISTRY.put(name, factory);
+    }
+
+    /**
+     * (Re)registra as políticas movidas por ticks com o intervalo de tick e o tau do WSClock,
+     * ambos em referências (<= 0 = padrão: frames). A ordem do registro não muda.
+     */
+    public static synchronized void configureTicks(int tickInterval, long tau) {
+        register("Aging", frames -> new AgingPolicy(frames, AgingPolicy.DEFAULT_BITS, tickInterval));
+        register("NFU", frames -> new NfuPolicy(frames, tickInterval));
+        register("WSClock", frames -> new WsClockPolicy(frames, tau, tickInterval));
+    }
+
+    public static synchronized List<String> names() {
+        return new ArrayList<>(REGISTRY.keySet());
+    }
+
+    public static synchronized ReplacementPolicy create(String name, int frames) {
+        IntFunction<ReplacementPolicy> factory = REGISTRY.get(name);
+        if (factory == null) throw new IllegalArgumentException("Algoritmo desconhecido: " + name);
+        return factory.apply(frames);
+    }
+}
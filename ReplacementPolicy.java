@@ -0,0 +1,77 @@
+/**
+ * Política de substituição de páginas sobre um conjunto fixo de molduras (slots 0..frames()-1).
+ *
+ * O laço de simulação (PageReplacementSimulator.simulate) chama, para cada referência:
+ *   slotOf(página)                 - residência: moldura da página ou -1;
+ *   onHit(slot, t)                 - acerto;
+ *   evict(página, t) + onLoad(...) - falta: escolhe a moldura (vazia ou vítima) e carrega a página.
+ * O instante t é a posição da referência no trace (0, 1, 2, ...). Políticas que dependem
+ * de interrupções periódicas de relógio contam os ticks nesse mesmo tempo (ver TickPolicy).
+ */
+public interface ReplacementPolicy {
+    /** Conteúdo de uma moldura vazia em pageAt(). */
+    int EMPTY = Integer.MIN_VALUE;
+
+    String name();
+
+    int frames();
+
+    /** Moldura onde a página está, ou -1 se não estiver na memória. */
+    int slotOf(int page);
+
+    /** Página na moldura, ou EMPTY. */
+    int pageAt(int slot);
+
+    /** Acerto na moldura {@code slot} no instante t. */
+    void onHit(int slot, long t);
+
+    /**
+     * Escolhe a moldura que vai receber {@code page} (a página da falta) no instante t: uma
+     * moldura vazia, se houver, senão a vítima, que deixa de ser residente. Só é chamado com
+     * frames() > 0.
+     */
+    int evict(int page, long t);
+
+    /** A página entrou na moldura devolvida por evict(). */
+    void onLoad(int slot, int page, long t);
+
+    /** A referência do instante t escreveu na página da moldura (depois de onHit/onLoad). */
+    default void onWrite(int slot, long t) {
+    }
+
+    /** true se a página da moldura foi escrita desde que entrou (ou desde a última gravação). */
+    default boolean isDirty(int slot) {
+        return false;
+    }
+
+    /** Páginas sujas gravadas de volta até agora (ao serem expulsas ou limpas pela política). */
+    default long writebacks() {
+        return 0;
+    }
+
+    /**
+     * Quantas referências a política quer ver adiantadas (0 = nenhuma). O laço chama
+     * ahead(página, t + lookahead()) antes de processar o instante t.
+     */
+    default int lookahead() {
+        return 0;
+    }
+
+    /** A referência da posição {@code pos} do trace entrou na janela de lookahead. */
+    default void ahead(int page, long pos) {
+    }
+
+    /** true se a política precisa do trace inteiro (ex.: Ótimo) antes de simular. */
+    default boolean needsFuture() {
+        return false;
+    }
+
+    /** Recebe o trace completo antes da simulação quando needsFuture() é true. */
+    default void prepare(IntTrace trace) {
+    }
+
+    /** Ordem das molduras nas tabelas passo a passo (ver StepLog.Order). */
+    default StepLog.Order displayOrder() {
+        return StepLog.Order.SLOT;
+    }
+}
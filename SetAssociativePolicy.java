@@ -0,0 +1,276 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Molduras associativas por conjunto, como numa cache de CPU ou num buffer pool particionado:
+ * sets conjuntos de ways molduras (moldura = conjunto x ways + via). A página só pode ficar no
+ * conjunto dado pela função de índice (resto da divisão, ou um hash que espalha páginas
+ * vizinhas) e a vítima sai do mesmo conjunto, escolhida pela política.
+ *
+ * FIFO, LRU e Relógio rodam direto sobre arrays planos de todos os conjuntos (página, instante
+ * do último uso e bits de uso/modificação por moldura, ponteiro por conjunto): a busca
+ * percorre as ways vias do conjunto, contíguas na memória, e nada é alocado por conjunto.
+ * Fazem as mesmas escolhas de FifoPolicy, LruPolicy e ClockPolicy em cada conjunto. As demais
+ * políticas registradas rodam como uma instância por conjunto, criada no primeiro uso (o
+ * Ótimo compartilha um único índice de próximo uso).
+ *
+ * Especificação: "ways=8,index=hash" ou "sets=64,ways=8,index=modulo" (sets ausente = molduras
+ * / ways; index padrão: modulo).
+ */
+public class SetAssociativePolicy implements ReplacementPolicy {
+    public enum Index { MODULO, HASH }
+
+    private enum Kind { FIFO, LRU, CLOCK, OTHER }
+
+    /** Geometria: conjuntos, vias e função de índice. */
+    public static class Layout {
+        public final int sets, ways; // sets = 0: molduras / ways
+        public final Index index;
+
+        public Layout(int sets, int ways, Index index) {
+            if (sets < 0 || ways <= 0) throw new IllegalArgumentException("Geometria inválida: " + sets + " conjuntos de " + ways + " vias");
+            this.sets = sets;
+            this.ways = ways;
+            this.index = index;
+        }
+
+        public static Layout parse(String spec) {
+            Map<String, String> p = new HashMap<>();
+            for (String kv : spec.split(",")) {
+                if (kv.isBlank()) continue;
+                int eq = kv.indexOf('=');
+                if (eq < 0) throw new IllegalArgumentException("Parâmetro sem valor: " + kv);
+                p.put(kv.substring(0, eq).trim().toLowerCase(Locale.ROOT), kv.substring(eq + 1).trim());
+            }
+            Index index = switch (p.getOrDefault("index", "modulo").toLowerCase(Locale.ROOT)) {
+                case "modulo", "mod" -> Index.MODULO;
+                case "hash" -> Index.HASH;
+                default -> throw new IllegalArgumentException("Índice desconhecido (modulo ou hash): " + p.get("index"));
+            };
+            return new Layout(Integer.parseInt(p.getOrDefault("sets", "0")),
+                    Integer.parseInt(p.getOrDefault("ways", "8")), index);
+        }
+
+        /** Número de conjuntos para frames molduras (frames precisa ser múltiplo de ways). */
+        public int sets(int frames) {
+            int s = sets > 0 ? sets : frames / ways;
+            if (s <= 0 || (long) s * ways != frames) {
+                throw new IllegalArgumentException(frames + " molduras não formam conjuntos de " + ways + " vias"
+                        + (sets > 0 ? " (" + sets + " conjuntos)" : ""));
+            }
+            return s;
+        }
+
+        /** A política registrada sobre frames molduras nesta geometria. */
+        public SetAssociativePolicy create(String policy, int frames) {
+            return new SetAssociativePolicy(policy, sets(frames), ways, index);
+        }
+    }
+
+    private final String name, policy;
+    private final int sets, ways, frames;
+    private final Index index;
+    private final Kind kind;
+
+    // FIFO, LRU e Relógio: arrays planos
+    private int[] pages;
+    private int[] used;       // vias já ocupadas de cada conjunto
+    private int[] hand;       // FIFO: via mais antiga; Relógio: ponteiro
+    private long[] lastUse;   // LRU
+    private FrameBits referenced, dirty;
+    private long writebacks;
+
+    // demais políticas: uma instância por conjunto
+    private ReplacementPolicy[] inner;
+    private final ReplacementPolicy sample;
+    private int[] next;       // índice de próximo uso do Ótimo, compartilhado
+    private IntTrace trace;
+
+    public SetAssociativePolicy(String policy, int sets, int ways, Index index) {
+        if (sets <= 0 || ways <= 0 || (long) sets * ways > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Geometria inválida: " + sets + " conjuntos de " + ways + " vias");
+        }
+        this.policy = policy;
+        this.sets = sets;
+        this.ways = ways;
+        this.frames = sets * ways;
+        this.index = index;
+        this.sample = Policies.create(policy, ways); // valida o nome
+        this.name = policy + " (" + sets + "x" + ways + (index == Index.HASH ? ", hash" : "") + ")";
+        this.kind = switch (policy) {
+            case "FIFO" -> Kind.FIFO;
+            case "LRU" -> Kind.LRU;
+            case "Relógio" -> Kind.CLOCK;
+            default -> Kind.OTHER;
+        };
+        if (kind == Kind.OTHER) {
+            inner = new ReplacementPolicy[sets];
+        } else {
+            pages = new int[frames];
+            Arrays.fill(pages, EMPTY);
+            used = new int[sets];
+            hand = new int[sets];
+            if (kind == Kind.LRU) lastUse = new long[frames];
+            if (kind == Kind.CLOCK) referenced = new FrameBits(frames);
+            dirty = new FrameBits(frames);
+        }
+    }
+
+    public int sets() {
+        return sets;
+    }
+
+    public int ways() {
+        return ways;
+    }
+
+    /** Conjunto da página. */
+    public int setOf(int page) {
+        return setOf(page, sets, index);
+    }
+
+    /** Conjunto da página entre sets conjuntos pela função de índice. */
+    public static int setOf(int page, int sets, Index index) {
+        if (index == Index.MODULO) return Math.floorMod(page, sets);
+        int h = page * 0x9E3779B9; // espalhamento multiplicativo + mistura final do MurmurHash3
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return Integer.remainderUnsigned(h, sets);
+    }
+
+    private ReplacementPolicy set(int s) {
+        ReplacementPolicy p = inner[s];
+        if (p == null) {
+            p = "Ótimo".equals(policy) ? new OptimalPolicy(ways, next) : Policies.create(policy, ways);
+            if (p.needsFuture() && !"Ótimo".equals(policy)) p.prepare(trace);
+            inner[s] = p;
+        }
+        return p;
+    }
+
+    @Override public String name() {
+        return name;
+    }
+
+    @Override public int frames() {
+        return frames;
+    }
+
+    @Override public int slotOf(int page) {
+        int s = setOf(page);
+        int base = s * ways;
+        if (kind == Kind.OTHER) {
+            if (inner[s] == null) return -1;
+            int slot = inner[s].slotOf(page);
+            return slot < 0 ? -1 : base + slot;
+        }
+        for (int i = base, end = base + used[s]; i < end; i++) {
+            if (pages[i] == page) return i;
+        }
+        return -1;
+    }
+
+    @Override public int pageAt(int slot) {
+        if (kind != Kind.OTHER) return pages[slot];
+        ReplacementPolicy p = inner[slot / ways];
+        return p == null ? EMPTY : p.pageAt(slot % ways);
+    }
+
+    @Override public void onHit(int slot, long t) {
+        switch (kind) {
+            case FIFO -> { }
+            case LRU -> lastUse[slot] = t;
+            case CLOCK -> referenced.set(slot);
+            case OTHER -> inner[slot / ways].onHit(slot % ways, t);
+        }
+    }
+
+    @Override public int evict(int page, long t) {
+        int s = setOf(page);
+        int base = s * ways;
+        if (kind == Kind.OTHER) return base + set(s).evict(page, t);
+        if (used[s] < ways) return base + used[s]++;
+        int v;
+        switch (kind) {
+            case FIFO -> {
+                v = base + hand[s];
+                hand[s] = (hand[s] + 1) % ways;
+            }
+            case LRU -> {
+                v = base;
+                for (int i = base + 1; i < base + ways; i++) {
+                    if (lastUse[i] < lastUse[v]) v = i;
+                }
+            }
+            default -> { // Relógio (segunda chance)
+                while (referenced.get(base + hand[s])) {
+                    referenced.clear(base + hand[s]);
+                    hand[s] = (hand[s] + 1) % ways;
+                }
+                v = base + hand[s];
+                hand[s] = (hand[s] + 1) % ways;
+            }
+        }
+        if (dirty.get(v)) {
+            dirty.clear(v);
+            writebacks++;
+        }
+        pages[v] = EMPTY;
+        return v;
+    }
+
+    @Override public void onLoad(int slot, int page, long t) {
+        switch (kind) {
+            case FIFO -> pages[slot] = page;
+            case LRU -> {
+                pages[slot] = page;
+                lastUse[slot] = t;
+            }
+            case CLOCK -> {
+                pages[slot] = page;
+                referenced.set(slot);
+            }
+            case OTHER -> inner[slot / ways].onLoad(slot % ways, page, t);
+        }
+    }
+
+    @Override public void onWrite(int slot, long t) {
+        if (kind == Kind.OTHER) inner[slot / ways].onWrite(slot % ways, t);
+        else dirty.set(slot);
+    }
+
+    @Override public boolean isDirty(int slot) {
+        if (kind != Kind.OTHER) return dirty.get(slot);
+        ReplacementPolicy p = inner[slot / ways];
+        return p != null && p.isDirty(slot % ways);
+    }
+
+    @Override public long writebacks() {
+        if (kind != Kind.OTHER) return writebacks;
+        long total = 0;
+        for (ReplacementPolicy p : inner) {
+            if (p != null) total += p.writebacks();
+        }
+        return total;
+    }
+
+    @Override public int lookahead() {
+        return sample.lookahead();
+    }
+
+    @Override public void ahead(int page, long pos) {
+        if (kind == Kind.OTHER) set(setOf(page)).ahead(page, pos);
+    }
+
+    @Override public boolean needsFuture() {
+        return sample.needsFuture();
+    }
+
+    @Override public void prepare(IntTrace trace) {
+        this.trace = trace;
+        if ("Ótimo".equals(policy)) next = OptimalPolicy.nextUseIndex(trace.array(), trace.size());
+    }
+}
@@ -0,0 +1,310 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Um trace enorme em vários núcleos, quando a configuração já o divide em partes independentes:
+ * os conjuntos de SetAssociativePolicy (a página só disputa molduras com as do seu conjunto) ou
+ * os processos com substituição local e alocação fixa (MultiProcessSimulator). A thread que
+ * chama lê o trace uma vez, calcula a chave de cada referência (conjunto ou processo) e a
+ * entrega, com o seu instante t no trace, ao worker dono da chave (chave % workers) por uma
+ * SpscRing. Cada worker roda todas as políticas sobre as chaves que são suas.
+ *
+ * O estado de cada chave depende só das referências dela e dos seus instantes globais, que
+ * são os mesmos da execução sequencial; os contadores dos workers são somados no fim, chave a
+ * chave. Os resultados são idênticos aos de simulate(layout.create(...), trace) e de
+ * MultiProcessSimulator.run. Políticas que precisam do futuro (Ótimo) ou de lookahead ficam de
+ * fora, como em OnlineSimulator.
+ */
+public class ShardedSimulator {
+    private static final int RING = 1 << 16;
+
+    /** Lado consumidor: processa os pares (a, b) que o roteador mandou. */
+    private abstract static class Worker {
+        final SpscRing ring = new SpscRing(RING);
+
+        abstract void access(long a, long b);
+
+        void drain() throws InterruptedException {
+            try {
+                long end;
+                while ((end = ring.await()) >= 0) {
+                    for (long i = ring.position(); i < end; i += 2) access(ring.get(i), ring.get(i + 1));
+                    ring.release(end);
+                }
+            } catch (Throwable e) {
+                ring.abandon();
+                throw e;
+            }
+        }
+    }
+
+    /** Lado produtor: lê a próxima referência de in e a manda ao worker da sua chave. */
+    private interface Router {
+        void route(TraceSource in, int page, long t) throws InterruptedException;
+    }
+
+    /** Políticas que rodam em fluxo (sem futuro nem lookahead). */
+    public static List<String> streamable(List<String> policies) {
+        List<String> names = new ArrayList<>();
+        for (String name : policies) {
+            ReplacementPolicy p = Policies.create(name, 1);
+            if (!p.needsFuture() && p.lookahead() == 0) names.add(name);
+        }
+        return names;
+    }
+
+    // ---------- conjuntos ----------
+
+    /** Cada política com as molduras em conjuntos (layout), repartidos por conjunto entre threads workers. */
+    public static List<PageReplacementSimulator.Result> runSets(TraceSource in, List<String> policies,
+            SetAssociativePolicy.Layout layout, int frames, int threads) throws InterruptedException {
+        List<String> names = streamable(policies);
+        int sets = layout.sets(frames);
+        int workers = Math.max(1, Math.min(threads, sets));
+        SetWorker[] w = new SetWorker[workers];
+        for (int i = 0; i < workers; i++) w[i] = new SetWorker(names, layout, frames);
+        SetAssociativePolicy.Index index = layout.index;
+        long refs = pump(in, w, (src, page, t) -> {
+            int s = SetAssociativePolicy.setOf(page, sets, index);
+            w[s % workers].ring.put(t << 1 | (src.isWrite() ? 1 : 0), page);
+        });
+        List<PageReplacementSimulator.Result> results = new ArrayList<>(names.size());
+        for (int k = 0; k < names.size(); k++) {
+            long faults = 0, writebacks = 0;
+            for (SetWorker x : w) {
+                faults += x.faults[k];
+                writebacks += x.policies[k].writebacks();
+            }
+            results.add(new PageReplacementSimulator.Result(w[0].policies[k].name(), faults, refs - faults,
+                    writebacks, (StepLog) null));
+        }
+        return results;
+    }
+
+    /** Uma SetAssociativePolicy por política; só os conjuntos deste worker são usados. */
+    private static final class SetWorker extends Worker {
+        final SetAssociativePolicy[] policies;
+        final long[] faults;
+
+        SetWorker(List<String> names, SetAssociativePolicy.Layout layout, int frames) {
+            policies = new SetAssociativePolicy[names.size()];
+            for (int k = 0; k < policies.length; k++) policies[k] = layout.create(names.get(k), frames);
+            faults = new long[policies.length];
+        }
+
+        @Override void access(long a, long b) {
+            long t = a >>> 1;
+            boolean write = (a & 1) != 0;
+            int page = (int) b;
+            for (int k = 0; k < policies.length; k++) {
+                if (PageReplacementSimulator.step(policies[k], page, t, write)) faults[k]++;
+            }
+        }
+    }
+
+    // ---------- processos ----------
+
+    /**
+     * Substituição local com alocação fixa (mp), repartida por processo entre threads workers.
+     * O número de processos não é conhecido antes do fim do fluxo, então a quota precisa ser
+     * explícita (MultiProcessSimulator.quota > 0).
+     */
+    public static List<MultiProcessSimulator.Report> runProcesses(TraceSource in, List<String> policies,
+            MultiProcessSimulator mp, int frames, int threads) throws InterruptedException {
+        checkProcesses(mp);
+        if (mp.quota <= 0) throw new IllegalArgumentException("Informe quota=N molduras por processo");
+        if (frames < 0) throw new IllegalArgumentException("Número de molduras negativo: " + frames);
+        List<String> names = streamable(policies);
+        int workers = Math.max(1, threads);
+        ProcessWorker[] w = new ProcessWorker[workers];
+        for (int i = 0; i < workers; i++) w[i] = new ProcessWorker(names, workers, mp.window);
+        Arrivals arrivals = new Arrivals(frames, mp.quota);
+        long refs = pump(in, w, (src, page, t) -> {
+            int p = arrivals.process(src.pid());
+            ProcessWorker x = w[p % workers];
+            if (arrivals.fresh) x.ring.put(-1 - arrivals.alloc[p], p); // chegada: o worker cria as políticas
+            int id = arrivals.id(src.pid(), page);
+            x.ring.put(t << 1 | (src.isWrite() ? 1 : 0), (long) p << 32 | id);
+        });
+
+        int procs = arrivals.processes;
+        int[] pids = Arrays.copyOf(arrivals.pids, procs);
+        int[] alloc = Arrays.copyOf(arrivals.alloc, procs);
+        long windows = refs / mp.window;
+        List<MultiProcessSimulator.Report> reports = new ArrayList<>(names.size());
+        for (int k = 0; k < names.size(); k++) {
+            long[] processRefs = new long[procs], processFaults = new long[procs];
+            long faults = 0, writebacks = 0;
+            int thrashing = 0;
+            for (int p = 0; p < procs; p++) {
+                ProcessWorker x = w[p % workers];
+                int local = p / workers;
+                processRefs[p] = x.refs[local];
+                processFaults[p] = x.faults[k][local];
+                faults += processFaults[p];
+                if (x.local[k][local] != null) writebacks += x.local[k][local].writebacks();
+                if (processRefs[p] >= mp.window && processFaults[p] > mp.thrash * processRefs[p]) thrashing++;
+            }
+            // janelas globais: faltas de cada janela somadas entre os workers
+            long thrashWindows = 0;
+            for (long j = 0; j < windows; j++) {
+                long sum = 0;
+                for (ProcessWorker x : w) sum += j < x.windowFaults[k].length ? x.windowFaults[k][(int) j] : 0;
+                if (sum > mp.thrash * mp.window) thrashWindows++;
+            }
+            reports.add(new MultiProcessSimulator.Report(names.get(k), refs, faults, writebacks, 0, 0,
+                    arrivals.starved, thrashing, windows, thrashWindows, pids, processRefs, processFaults, alloc));
+        }
+        return reports;
+    }
+
+    /** Recusa configurações que não se dividem por processo (antes de qualquer leitura do trace). */
+    public static void checkProcesses(MultiProcessSimulator mp) {
+        if (mp.scope != MultiProcessSimulator.Scope.LOCAL || mp.allocation != MultiProcessSimulator.Allocation.FIXED) {
+            throw new IllegalArgumentException("Só a substituição local com alocação fixa pode ser dividida por processo");
+        }
+    }
+
+    /**
+     * Lado do roteador: processos na ordem de chegada, com a quota tirada das molduras livres,
+     * e (processo, página) -> identificador denso, na mesma numeração de MultiProcessSimulator.
+     */
+    private static final class Arrivals {
+        final IntIntMap processOf = new IntIntMap();
+        final LongIntMap idOf = new LongIntMap();
+        final int quota;
+        int[] pids = new int[16], alloc = new int[16];
+        int processes, free, starved, lastPid = -1, lastProcess;
+        boolean fresh;
+
+        Arrivals(int frames, int quota) {
+            this.free = frames;
+            this.quota = quota;
+        }
+
+        int process(int pid) {
+            fresh = false;
+            if (pid == lastPid) return lastProcess;
+            int p = processOf.get(pid, -1);
+            if (p < 0) {
+                p = processes++;
+                processOf.put(pid, p);
+                if (p == pids.length) {
+                    pids = Arrays.copyOf(pids, p * 2);
+                    alloc = Arrays.copyOf(alloc, p * 2);
+                }
+                pids[p] = pid;
+                int a = Math.min(quota, free);
+                if (a == 0) starved++;
+                free -= a;
+                alloc[p] = a;
+                fresh = true;
+            }
+            lastPid = pid;
+            return lastProcess = p;
+        }
+
+        int id(int pid, int page) {
+            long key = (long) pid << 32 | (page & 0xFFFFFFFFL);
+            int id = idOf.get(key, -1);
+            if (id < 0) {
+                id = idOf.size();
+                idOf.put(key, id);
+            }
+            return id;
+        }
+    }
+
+    /** Políticas dos processos p com p % workers igual ao deste worker (índice local p / workers). */
+    private static final class ProcessWorker extends Worker {
+        final List<String> names;
+        final int workers, window;
+        ReplacementPolicy[][] local; // [política][processo local]
+        long[][] faults;
+        long[] refs = new long[16];
+        int[][] windowFaults;        // [política][janela global]: faltas deste worker
+
+        ProcessWorker(List<String> names, int workers, int window) {
+            this.names = names;
+            this.workers = workers;
+            this.window = window;
+            int n = names.size();
+            local = new ReplacementPolicy[n][16];
+            faults = new long[n][16];
+            windowFaults = new int[n][1024];
+        }
+
+        @Override void access(long a, long b) {
+            if (a < 0) {
+                arrive((int) b / workers, (int) (-1 - a));
+                return;
+            }
+            long t = a >>> 1;
+            boolean write = (a & 1) != 0;
+            int p = (int) (b >>> 32) / workers;
+            int page = (int) b;
+            refs[p]++;
+            int j = (int) (t / window);
+            for (int k = 0; k < local.length; k++) {
+                if (PageReplacementSimulator.step(local[k][p], page, t, write)) {
+                    faults[k][p]++;
+                    int[] wf = windowFaults[k];
+                    if (j >= wf.length) windowFaults[k] = wf = Arrays.copyOf(wf, Math.max(j + 1, wf.length * 2));
+                    wf[j]++;
+                }
+            }
+        }
+
+        private void arrive(int p, int frames) {
+            if (p == refs.length) {
+                refs = Arrays.copyOf(refs, p * 2);
+                for (int k = 0; k < local.length; k++) {
+                    local[k] = Arrays.copyOf(local[k], p * 2);
+                    faults[k] = Arrays.copyOf(faults[k], p * 2);
+                }
+            }
+            for (int k = 0; k < local.length; k++) local[k][p] = Policies.create(names.get(k), frames);
+        }
+    }
+
+    // ---------- motor ----------
+
+    /** Lê in até o fim, roteando cada referência, com os workers rodando em paralelo; devolve as referências. */
+    private static long pump(TraceSource in, Worker[] workers, Router router) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers.length);
+        List<Future<?>> done = new ArrayList<>(workers.length);
+        long t = 0;
+        IllegalStateException stopped = null;
+        try {
+            for (Worker w : workers) {
+                done.add(pool.submit(() -> {
+                    w.drain();
+                    return null;
+                }));
+            }
+            try {
+                while (in.hasNext()) router.route(in, in.nextInt(), t++);
+            } catch (IllegalStateException e) {
+                stopped = e; // em geral um worker falhou e abandonou a fila: a causa sai no get() abaixo
+            } finally {
+                for (Worker w : workers) w.ring.close();
+            }
+            for (Future<?> f : done) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falha na simulação dividida", e.getCause());
+                }
+            }
+            if (stopped != null) throw stopped;
+        } finally {
+            pool.shutdownNow();
+        }
+        return t;
+    }
+}
@@ -0,0 +1,115 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fila circular sem travas de um produtor para um consumidor (SPSC), de pares de longs.
+ *
+ * Cada lado só escreve o seu índice: o produtor publica o fim (setRelease) a cada BATCH
+ * posições ou quando fica sem espaço, o consumidor devolve o início depois de processar o
+ * que leu. Cada lado guarda a última posição vista do outro e só relê o índice compartilhado
+ * quando ela se esgota. Quem espera gira um pouco (onSpinWait), depois cede a CPU e, por fim,
+ * dorme alguns microssegundos, para não ocupar núcleos com mais workers do que CPUs.
+ *
+ * O consumidor que sai antes do fim chama abandon(): o produtor parado esperando espaço
+ * recebe IllegalStateException em vez de esperar para sempre.
+ */
+public class SpscRing {
+    private static final int BATCH = 1 << 10;
+
+    private final long[] buffer;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong(); // fim visível ao consumidor
+    private final AtomicLong consumed = new AtomicLong();  // início visível ao produtor
+    private volatile boolean closed, abandoned;
+
+    // produtor
+    private long tail, headSeen;
+
+    // consumidor
+    private long head, tailSeen;
+
+    /** capacity longs (potência de 2, pelo menos 2 * BATCH). */
+    public SpscRing(int capacity) {
+        if (capacity < 2 * BATCH || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade deve ser potência de 2 >= " + 2 * BATCH + ": " + capacity);
+        }
+        buffer = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    // ---------- produtor ----------
+
+    public void put(long a, long b) throws InterruptedException {
+        if (tail + 2 - headSeen > buffer.length) awaitSpace();
+        buffer[(int) tail & mask] = a;
+        buffer[(int) (tail + 1) & mask] = b;
+        tail += 2;
+        if ((tail & (BATCH - 1)) == 0) published.setRelease(tail);
+    }
+
+    private void awaitSpace() throws InterruptedException {
+        published.setRelease(tail);
+        for (int spins = 0; ; spins++) {
+            headSeen = consumed.getAcquire();
+            if (tail + 2 - headSeen <= buffer.length) return;
+            if (abandoned) throw new IllegalStateException("Consumidor encerrado");
+            backoff(spins);
+        }
+    }
+
+    /** Fim do fluxo: publica o que falta; o consumidor termina depois de ler tudo. */
+    public void close() {
+        published.setRelease(tail);
+        closed = true;
+    }
+
+    // ---------- consumidor ----------
+
+    /**
+     * Espera haver pares para ler e devolve o fim do trecho legível (get(i) para i de
+     * position() até ele, de 2 em 2); -1 se o produtor fechou e tudo já foi lido.
+     */
+    public long await() throws InterruptedException {
+        for (int spins = 0; ; spins++) {
+            if (tailSeen > head) return tailSeen;
+            tailSeen = published.getAcquire();
+            if (tailSeen > head) return tailSeen;
+            if (closed) {
+                tailSeen = published.getAcquire(); // close() publica antes de marcar closed
+                if (tailSeen > head) return tailSeen;
+                return -1;
+            }
+            backoff(spins);
+        }
+    }
+
+    public long position() {
+        return head;
+    }
+
+    public long get(long index) {
+        return buffer[(int) index & mask];
+    }
+
+    /** Libera para o produtor tudo antes de position. */
+    public void release(long position) {
+        head = position;
+        consumed.setRelease(position);
+    }
+
+    /** O consumidor desistiu (erro): o produtor para de esperar por espaço. */
+    public void abandon() {
+        abandoned = true;
+    }
+
+    private static void backoff(int spins) throws InterruptedException {
+        if (spins < 100) {
+            Thread.onSpinWait();
+        } else if (spins < 200) {
+            Thread.yield();
+        } else {
+            if (Thread.interrupted()) throw new InterruptedException();
+            LockSupport.parkNanos(20_000);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * Distâncias de pilha LRU (algoritmo de Mattson) calculadas em uma única passada.
+ *
+ * A distância de uma referência é a posição da página na pilha LRU (1 = mais recente),
+ * ou infinita na primeira referência. Com F molduras o LRU acerta exatamente as
+ * referências de distância <= F, então o histograma dá as faltas para todos os F de uma vez.
+ *
+ * Cada passo custa O(log n): uma árvore de Fenwick indexada pelo tempo marca a posição
+ * do último acesso de cada página, e a distância é o número de marcas entre esse último
+ * acesso e o instante atual.
+ */
+public class StackDistance {
+    private long[] histogram = new long[64]; // histogram[d] = referências com distância d (d >= 1)
+    private int maxDistance;
+    private long coldMisses;
+    private long references;
+    private long[] faultsAbove; // faultsAbove[f] = referências com distância > f (cache de faults())
+
+    private StackDistance() {
+    }
+
+    public static StackDistance compute(IntTrace trace) {
+        return compute(trace.iterator(), trace.size());
+    }
+
+    /** Processa o fluxo; a árvore cresce sob demanda se o tamanho não for conhecido. */
+    public static StackDistance compute(PrimitiveIterator.OfInt refs) {
+        return compute(refs, 1024);
+    }
+
+    private static StackDistance compute(PrimitiveIterator.OfInt refs, int expected) {
+        StackDistance sd = new StackDistance();
+        Fenwick marks = new Fenwick(Math.max(expected, 16));
+        IntIntMap lastAccess = new IntIntMap();
+        int t = 0;
+        while (refs.hasNext()) {
+            int r = refs.nextInt();
+            if (t == Integer.MAX_VALUE) throw new IllegalStateException("Trace grande demais (mais de 2^31 referências)");
+            marks.ensureCapacity(t + 1);
+            int last = lastAccess.get(r, -1);
+            if (last < 0) {
+                sd.coldMisses++;
+            } else {
+                // páginas distintas acessadas depois do último acesso a r, mais a própria r
+                int d = marks.sum(t - 1) - marks.sum(last) + 1;
+                sd.record(d);
+                marks.add(last, -1);
+            }
+            marks.add(t, 1);
+            lastAccess.put(r, t);
+            t++;
+        }
+        sd.references = t;
+        return sd;
+    }
+
+    private void record(int d) {
+        if (d >= histogram.length) histogram = Arrays.copyOf(histogram, Math.max(d + 1, histogram.length * 2));
+        histogram[d]++;
+        if (d > maxDistance) maxDistance = d;
+    }
+
+    public long references() {
+        return references;
+    }
+
+    /** Primeiras referências a cada página (faltas para qualquer número de molduras). */
+    public long coldMisses() {
+        return coldMisses;
+    }
+
+    /** Número de referências com distância exatamente d. */
+    public long count(int d) {
+        return d > 0 && d < histogram.length ? histogram[d] : 0;
+    }
+
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    /** Faltas do LRU com {@code frames} molduras (igual a simulateLRU(trace, frames).faults). */
+    public long faults(int frames) {
+        if (frames <= 0) return references;
+        if (faultsAbove == null) {
+            faultsAbove = new long[maxDistance + 1];
+            long acc = 0;
+            for (int d = maxDistance; d >= 1; d--) {
+                faultsAbove[d] = acc;
+                acc += histogram[d];
+            }
+        }
+        return coldMisses + (frames >= maxDistance ? 0 : faultsAbove[frames]);
+    }
+
+    /** Curva de faltas: posição f = faltas com f molduras, para f = 0..maxFrames. */
+    public long[] faultCurve(int maxFrames) {
+        long[] curve = new long[maxFrames + 1];
+        for (int f = 0; f <= maxFrames; f++) curve[f] = faults(f);
+        return curve;
+    }
+
+    // Árvore de Fenwick sobre posições de tempo 0..n-1; dobra de tamanho quando necessário.
+    private static class Fenwick {
+        private int[] tree; // 1-indexada
+        private int n;
+
+        Fenwick(int n) {
+            this.n = n;
+            tree = new int[n + 1];
+        }
+
+        void ensureCapacity(int size) {
+            if (size <= n) return;
+            int newN = (int) Math.min(Integer.MAX_VALUE - 8L, Math.max((long) n * 2, size));
+            // recupera os valores pontuais e refaz a árvore (custo amortizado pelas duplicações)
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) values[i] = sum(i) - (i > 0 ? sum(i - 1) : 0);
+            tree = new int[newN + 1];
+            n = newN;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == 0) continue;
+                add(i, values[i]);
+            }
+        }
+
+        void add(int i, int delta) {
+            for (int x = i + 1; x <= n; x += x & -x) tree[x] += delta;
+        }
+
+        /** Soma das posições 0..i (0 se i < 0). */
+        int sum(int i) {
+            int s = 0;
+            for (int x = i + 1; x > 0; x -= x & -x) s += tree[x];
+            return s;
+        }
+    }
+}
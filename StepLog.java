@@ -0,0 +1,229 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registro compacto dos passos de uma simulação. Em vez de uma cópia das molduras por passo,
+ * guarda só o evento: a referência e as marcas (falta, escrita, gravação) de cada passo e,
+ * para cada falta, a moldura onde a página entrou (a página que entra é a própria
+ * referência). A cada {@code interval} passos um checkpoint guarda o conteúdo completo das
+ * molduras; o estado depois de qualquer passo é refeito a partir do checkpoint anterior em
+ * O(interval + molduras). São 5 bytes por passo mais 4 por falta e frames inteiros por
+ * checkpoint, contra uma lista de frames inteiros por passo.
+ *
+ * As leituras (pageAt, step) reaproveitam o último estado refeito, então percorrer passos em
+ * ordem (tabela da GUI, --verbose) custa O(1) por passo. Não é thread-safe.
+ *
+ * As colunas mostradas seguem a ordem de exibição da política (ReplacementPolicy.displayOrder):
+ * as molduras em ordem, ou as páginas residentes da mais antiga para a mais nova (por carga no
+ * FIFO, por último uso no LRU), com as molduras vazias no fim, como nas tabelas originais.
+ */
+public class StepLog {
+    private static final byte FAULT = 1, WRITE = 2, WRITEBACK = 4;
+    /** Menor intervalo entre checkpoints; cresce com as molduras para limitar a memória deles. */
+    public static final int DEFAULT_INTERVAL = 1024;
+
+    /** Ordem das colunas de uma tabela passo a passo. */
+    public enum Order {
+        /** Moldura 0, 1, 2, ... */
+        SLOT,
+        /** Páginas residentes pelo instante em que foram carregadas (fila do FIFO). */
+        LOAD,
+        /** Páginas residentes pelo último uso (do LRU ao mais recente). */
+        USE
+    }
+
+    private final int frames;
+    private final int interval;
+    private final Order order;
+    private int size;
+    private int[] refs;
+    private byte[] flags;
+    private int[] loadSlot = new int[16]; // loadSlot[k] = moldura da k-ésima falta (-1 = sem molduras)
+    private int faults;
+    private int[] checkpoints = new int[0]; // checkpoint j = molduras antes do passo j * interval
+    private int[] faultsAt = new int[0];    // faltas antes do passo j * interval
+    private final int[] current;            // molduras depois do último passo registrado
+    // LOAD/USE: passo da carga ou do último uso de cada moldura, no mesmo esquema de checkpoints
+    private int[] currentRank, cursorRank, rankCheckpoints, view;
+    private long[] keys;
+
+    // último estado refeito: molduras depois do passo cursorStep (-1 = antes do primeiro passo)
+    private final int[] cursor;
+    private int cursorStep = -1, cursorFaults;
+
+    public StepLog(int frames) {
+        this(frames, 16);
+    }
+
+    public StepLog(int frames, int expectedSteps) {
+        this(frames, expectedSteps, Math.max(DEFAULT_INTERVAL, 4 * frames));
+    }
+
+    public StepLog(int frames, int expectedSteps, Order order) {
+        this(frames, expectedSteps, Math.max(DEFAULT_INTERVAL, 4 * frames), order);
+    }
+
+    public StepLog(int frames, int expectedSteps, int interval) {
+        this(frames, expectedSteps, interval, Order.SLOT);
+    }
+
+    public StepLog(int frames, int expectedSteps, int interval, Order order) {
+        if (interval <= 0) throw new IllegalArgumentException("Intervalo de checkpoint deve ser positivo: " + interval);
+        this.frames = frames;
+        this.interval = interval;
+        this.order = order;
+        int cap = Math.max(expectedSteps, 1);
+        refs = new int[cap];
+        flags = new byte[cap];
+        current = new int[frames];
+        cursor = new int[frames];
+        Arrays.fill(current, ReplacementPolicy.EMPTY);
+        Arrays.fill(cursor, ReplacementPolicy.EMPTY);
+        if (order != Order.SLOT) {
+            currentRank = new int[frames];
+            cursorRank = new int[frames];
+            rankCheckpoints = new int[0];
+            view = new int[frames];
+            keys = new long[frames];
+        }
+    }
+
+    public int frames() {
+        return frames;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Registra o passo; {@code slot} é a moldura da página depois do passo: onde ela entrou
+     * numa falta (-1 se não entrou) ou onde estava num acerto (só a ordem USE usa).
+     */
+    public void add(int ref, int slot, boolean fault, boolean write, boolean writeback) {
+        if (size % interval == 0) checkpoint();
+        if (size == refs.length) {
+            int cap = refs.length + (refs.length >> 1) + 1;
+            refs = Arrays.copyOf(refs, cap);
+            flags = Arrays.copyOf(flags, cap);
+        }
+        refs[size] = ref;
+        flags[size] = (byte) ((fault ? FAULT : 0) | (write ? WRITE : 0) | (writeback ? WRITEBACK : 0));
+        if (fault) {
+            if (faults == loadSlot.length) loadSlot = Arrays.copyOf(loadSlot, faults + (faults >> 1) + 1);
+            loadSlot[faults++] = slot;
+            if (slot >= 0) current[slot] = ref;
+        }
+        if (slot >= 0 && (fault ? order != Order.SLOT : order == Order.USE)) currentRank[slot] = size;
+        size++;
+    }
+
+    private void checkpoint() {
+        int j = size / interval;
+        if (j == faultsAt.length) {
+            int cap = Math.max(4, j + (j >> 1));
+            faultsAt = Arrays.copyOf(faultsAt, cap);
+            checkpoints = Arrays.copyOf(checkpoints, cap * frames);
+            if (order != Order.SLOT) rankCheckpoints = Arrays.copyOf(rankCheckpoints, cap * frames);
+        }
+        faultsAt[j] = faults;
+        System.arraycopy(current, 0, checkpoints, j * frames, frames);
+        if (order != Order.SLOT) System.arraycopy(currentRank, 0, rankCheckpoints, j * frames, frames);
+    }
+
+    public int ref(int step) {
+        return refs[step];
+    }
+
+    public boolean fault(int step) {
+        return (flags[step] & FAULT) != 0;
+    }
+
+    public boolean write(int step) {
+        return (flags[step] & WRITE) != 0;
+    }
+
+    public boolean writeback(int step) {
+        return (flags[step] & WRITEBACK) != 0;
+    }
+
+    /**
+     * Página da coluna depois do passo, ou ReplacementPolicy.EMPTY: a da moldura {@code column}
+     * (Order.SLOT) ou a column-ésima residente na ordem de exibição.
+     */
+    public int pageAt(int step, int column) {
+        seek(step);
+        return order == Order.SLOT ? cursor[column] : view[column];
+    }
+
+    /** Refaz em cursor as molduras depois do passo, a partir do estado atual ou do checkpoint. */
+    private void seek(int step) {
+        if (step < 0 || step >= size) throw new IndexOutOfBoundsException("Passo " + step + " fora de 0.." + (size - 1));
+        if (step == cursorStep) return;
+        int base = step / interval * interval;
+        int from;
+        if (cursorStep >= base - 1 && cursorStep < step) {
+            from = cursorStep + 1;
+        } else {
+            int j = step / interval;
+            System.arraycopy(checkpoints, j * frames, cursor, 0, frames);
+            if (order != Order.SLOT) System.arraycopy(rankCheckpoints, j * frames, cursorRank, 0, frames);
+            cursorFaults = faultsAt[j];
+            from = base;
+        }
+        for (int i = from; i <= step; i++) {
+            if ((flags[i] & FAULT) != 0) {
+                int slot = loadSlot[cursorFaults++];
+                if (slot >= 0) {
+                    cursor[slot] = refs[i];
+                    if (order != Order.SLOT) cursorRank[slot] = i;
+                }
+            } else if (order == Order.USE) {
+                for (int s = 0; s < frames; s++) {
+                    if (cursor[s] == refs[i]) {
+                        cursorRank[s] = i;
+                        break;
+                    }
+                }
+            }
+        }
+        cursorStep = step;
+        if (order != Order.SLOT) sortView();
+    }
+
+    /** view = páginas residentes do cursor por passo de carga/uso, vazias no fim. */
+    private void sortView() {
+        int k = 0;
+        for (int s = 0; s < frames; s++) {
+            if (cursor[s] != ReplacementPolicy.EMPTY) keys[k++] = (long) cursorRank[s] << 32 | s;
+        }
+        Arrays.sort(keys, 0, k);
+        for (int c = 0; c < frames; c++) view[c] = c < k ? cursor[(int) keys[c]] : ReplacementPolicy.EMPTY;
+    }
+
+    /** Step do passo (molduras vazias = null), criado na hora. */
+    public PageReplacementSimulator.Step step(int i) {
+        seek(i);
+        List<Integer> snapshot = new ArrayList<>(frames);
+        for (int s = 0; s < frames; s++) {
+            int page = order == Order.SLOT ? cursor[s] : view[s];
+            snapshot.add(page == ReplacementPolicy.EMPTY ? null : page);
+        }
+        return new PageReplacementSimulator.Step(refs[i], snapshot, fault(i), write(i), writeback(i));
+    }
+
+    /** Visão somente leitura como lista de Step (compatível com Result.steps). */
+    public List<PageReplacementSimulator.Step> asList() {
+        return new AbstractList<>() {
+            @Override public PageReplacementSimulator.Step get(int index) {
+                return step(index);
+            }
+
+            @Override public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Base das aproximações de LRU movidas por ticks de relógio: a cada {@code tickInterval}
+ * referências o "núcleo" percorre as molduras (tick(), O(F), sem alocação), tipicamente
+ * consumindo e zerando os bits de uso. Os ticks são disparados preguiçosamente pela
+ * primeira chamada de cada referência (onHit, victim ou loaded), então chamar advance()
+ * mais de uma vez no mesmo instante não tem efeito.
+ */
+public abstract class TickPolicy extends AbstractPolicy {
+    protected final FrameBits referenced;
+    protected final int tickInterval;
+    private long nextTick;
+
+    /** tickInterval <= 0 usa um tick a cada {@code frames} referências (O(1) amortizado). */
+    protected TickPolicy(String name, int frames, int tickInterval) {
+        super(name, frames);
+        this.referenced = new FrameBits(frames);
+        this.tickInterval = tickInterval > 0 ? tickInterval : Math.max(frames, 1);
+        this.nextTick = this.tickInterval;
+    }
+
+    protected final void advance(long t) {
+        while (t >= nextTick) {
+            tick(nextTick);
+            nextTick += tickInterval;
+        }
+    }
+
+    /** Interrupção de relógio no instante {@code now}. */
+    protected abstract void tick(long now);
+
+    @Override public void onHit(int slot, long t) {
+        advance(t);
+        referenced.set(slot);
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        advance(t);
+        referenced.set(slot);
+    }
+}
@@ -0,0 +1,89 @@
+import java.util.Locale;
+
+/**
+ * TLB associativo por conjunto: entries entradas em entries / ways conjuntos de ways vias. A
+ * página escolhe o conjunto pelo resto da divisão pelo número de conjuntos e cada conjunto é
+ * uma ReplacementPolicy registrada em Policies (FIFO, LRU, Relógio, ...) sobre as suas vias,
+ * então as mesmas implementações servem de molduras e de entradas do TLB. ways = entries é
+ * totalmente associativo; ways = 1, mapeamento direto.
+ *
+ * A invalidação é preguiçosa: quando uma página sai da memória a entrada dela continua no
+ * conjunto; na próxima referência a página não está residente, a entrada conta como obsoleta
+ * (falta no TLB, com percurso da tabela) e é reaproveitada no mesmo lugar.
+ */
+public class Tlb {
+    private final int entries, ways, sets;
+    private final String policy;
+    private final ReplacementPolicy[] set;
+    private long hits, misses, stale;
+
+    public Tlb(int entries, int ways, String policy) {
+        if (entries <= 0 || ways <= 0 || entries % ways != 0) {
+            throw new IllegalArgumentException("TLB inválido: " + entries + " entradas em conjuntos de " + ways + " vias");
+        }
+        this.entries = entries;
+        this.ways = ways;
+        this.sets = entries / ways;
+        this.policy = policyName(policy);
+        this.set = new ReplacementPolicy[sets];
+        for (int i = 0; i < sets; i++) {
+            set[i] = Policies.create(this.policy, ways);
+            if (set[i].needsFuture() || set[i].lookahead() > 0) {
+                throw new IllegalArgumentException(this.policy + " precisa do futuro e não serve para o TLB");
+            }
+        }
+    }
+
+    /** Nome registrado em Policies, sem diferenciar maiúsculas; "clock" = Relógio. */
+    static String policyName(String name) {
+        if ("clock".equalsIgnoreCase(name)) return "Relógio";
+        for (String registered : Policies.names()) {
+            if (registered.equalsIgnoreCase(name)) return registered;
+        }
+        throw new IllegalArgumentException("Algoritmo desconhecido: " + name);
+    }
+
+    public int entries() {
+        return entries;
+    }
+
+    public int ways() {
+        return ways;
+    }
+
+    public String policy() {
+        return policy;
+    }
+
+    /**
+     * Tradução da página no instante t; {@code resident} diz se a página está na memória
+     * (entrada de página não residente = obsoleta). Devolve true se foi acerto no TLB.
+     */
+    public boolean access(int page, boolean resident, long t) {
+        boolean present = !PageReplacementSimulator.step(set[Math.floorMod(page, sets)], page, t, false);
+        if (present && resident) {
+            hits++;
+            return true;
+        }
+        if (present) stale++;
+        misses++;
+        return false;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    /** Faltas no TLB (cada uma é um percurso da tabela de páginas), obsoletas incluídas. */
+    public long misses() {
+        return misses;
+    }
+
+    public long stale() {
+        return stale;
+    }
+
+    @Override public String toString() {
+        return String.format(Locale.ROOT, "%d entradas, %d vias, %s", entries, ways, policy);
+    }
+}
@@ -0,0 +1,117 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * TLB na frente das molduras: cada referência passa primeiro pelo TLB (ver Tlb); numa falta no
+ * TLB a tradução vem de um percurso da tabela de páginas de levels níveis (2 = x86 32 bits,
+ * 4 = x86-64), cada nível um acesso à memória. Depois a página é procurada nas molduras pela
+ * política, como em PageReplacementSimulator.simulate.
+ *
+ * Tempo médio de acesso (TMA), em ns, com os custos de CostModel:
+ *   TMA = lookup + mem + (percursos x levels x mem + faltas x fault + gravações x writeback) / referências
+ * A parte de tradução (lookup + percursos x levels x mem / referências) aparece separada.
+ *
+ * Especificação: "entries=64,ways=4,policy=LRU,levels=4,lookup=1" (chaves ausentes usam o
+ * padrão; policy é qualquer política registrada que não precise do futuro, "clock" = Relógio).
+ */
+public class TlbSimulator {
+    public final int entries, ways, levels;
+    public final String policy;
+    public final double lookupNs;
+
+    public TlbSimulator(int entries, int ways, String policy, int levels, double lookupNs) {
+        if (levels <= 0 || lookupNs < 0) throw new IllegalArgumentException("Parâmetros inválidos para o TLB");
+        new Tlb(entries, ways, policy); // valida tamanho, vias e política
+        this.entries = entries;
+        this.ways = ways;
+        this.policy = Tlb.policyName(policy);
+        this.levels = levels;
+        this.lookupNs = lookupNs;
+    }
+
+    public static TlbSimulator parse(String spec) {
+        Map<String, String> p = new HashMap<>();
+        for (String kv : spec.split(",")) {
+            if (kv.isBlank()) continue;
+            int eq = kv.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Parâmetro sem valor: " + kv);
+            String key = kv.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            switch (key) {
+                case "entries", "ways", "policy", "levels", "lookup" -> p.put(key, kv.substring(eq + 1).trim());
+                default -> throw new IllegalArgumentException("Parâmetro do TLB desconhecido: " + key);
+            }
+        }
+        return new TlbSimulator(
+                Integer.parseInt(p.getOrDefault("entries", "64")),
+                Integer.parseInt(p.getOrDefault("ways", "4")),
+                p.getOrDefault("policy", "LRU"),
+                Integer.parseInt(p.getOrDefault("levels", "4")),
+                Double.parseDouble(p.getOrDefault("lookup", "1")));
+    }
+
+    /** Resultado de uma política das molduras com o TLB. */
+    public static class Report {
+        public final String name;
+        public final long refs, tlbHits, walks, stale, faults, writebacks;
+        public final double translationNs, amatNs;
+
+        Report(String name, long refs, long tlbHits, long walks, long stale, long faults, long writebacks,
+               double translationNs, double amatNs) {
+            this.name = name;
+            this.refs = refs;
+            this.tlbHits = tlbHits;
+            this.walks = walks;
+            this.stale = stale;
+            this.faults = faults;
+            this.writebacks = writebacks;
+            this.translationNs = translationNs;
+            this.amatNs = amatNs;
+        }
+
+        public double tlbHitRate() {
+            return refs == 0 ? 0 : (double) tlbHits / refs;
+        }
+
+        public void printSummary(PrintStream out) {
+            out.printf(Locale.ROOT, "- %s - TLB %.2f%% acertos, %d percursos da tabela, %d entradas obsoletas"
+                            + " | %d faltas de página, %d gravações | TMA %.1f ns (tradução %.1f ns)%n",
+                    name, 100 * tlbHitRate(), walks, stale, faults, writebacks, amatNs, translationNs);
+        }
+    }
+
+    /** Simula cada política das molduras com um TLB novo; o índice do Ótimo é feito uma vez só. */
+    public List<Report> run(IntTrace trace, List<String> policies, int frames, CostModel cost) {
+        int[] next = policies.contains("Ótimo") ? OptimalPolicy.nextUseIndex(trace.array(), trace.size()) : null;
+        List<Report> reports = new ArrayList<>(policies.size());
+        for (String name : policies) {
+            ReplacementPolicy memory = "Ótimo".equals(name) ? new OptimalPolicy(frames, next) : Policies.create(name, frames);
+            reports.add(run(trace, memory, cost));
+        }
+        return reports;
+    }
+
+    /**
+     * O laço de PageReplacementSimulator.simulate, com o TLB consultado a cada referência: a
+     * página estava residente se o passo nas molduras foi um acerto.
+     */
+    public Report run(IntTrace trace, ReplacementPolicy memory, CostModel cost) {
+        Tlb tlb = new Tlb(entries, ways, policy);
+        PageReplacementSimulator.Result result = PageReplacementSimulator.simulate(memory, trace, false, null,
+                (page, t, fault) -> tlb.access(page, !fault, t));
+        int n = trace.size();
+        long faults = result.faults;
+        long walks = tlb.misses();
+        double translation = n == 0 ? 0 : lookupNs + (double) walks * levels * cost.memoryNs / n;
+        double amat = n == 0 ? 0 : translation + cost.memoryNs
+                + (faults * cost.faultNs + memory.writebacks() * cost.writebackNs) / n;
+        return new Report(memory.name(), n, tlb.hits(), walks, tlb.stale(), faults, memory.writebacks(), translation, amat);
+    }
+
+    @Override public String toString() {
+        return String.format(Locale.ROOT, "TLB de %d entradas, %d vias, %s; tabela de %d níveis", entries, ways, policy, levels);
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de traces sintéticos reprodutíveis (mesma semente = mesmo trace).
+ * Gera sob demanda, sem guardar o trace, então serve tanto para alimentar os
+ * simuladores diretamente quanto para gravar um arquivo de qualquer tamanho.
+ *
+ * Especificação: modelo[:chave=valor,...], por exemplo
+ *   zipf:n=1e8,pages=1000000,s=0.9,seed=7
+ *
+ * Modelos:
+ *   uniform - páginas sorteadas uniformemente (pages)
+ *   zipf    - popularidade Zipf com expoente s sobre pages páginas (página 0 é a mais popular)
+ *   phases  - fases de phase referências, cada uma sorteando dentro de um conjunto de trabalho
+ *             de ws páginas contíguas escolhido ao acaso entre pages
+ *   loop    - laço sequencial 0..loop-1 (maior que a memória = pior caso de LRU/FIFO)
+ *   scan    - conjunto quente de hot páginas misturado com uma varredura sequencial sem reúso
+ *             (fração scan das referências)
+ * Chaves comuns: n (número de referências), seed, writes (fração de escritas, padrão 0;
+ * sorteadas com uma semente própria, então as páginas não mudam), procs (número de
+ * processos, padrão 1) e quantum (referências seguidas de cada processo, padrão 1000):
+ * os processos se revezam em rodízio, cada um com o seu espaço de páginas.
+ *
+ * Uso: java TraceGenerator <especificação> <saida|-> [--binary]
+ */
+public class TraceGenerator implements TraceSource {
+    private final String model;
+    private final long length;
+    private final SplittableRandom rnd;
+    private final int pages, ws, phase, loop, hot;
+    private final double scan;
+    private final ZipfSampler zipf;
+    private final double writes;
+    private final SplittableRandom writeRnd;
+    private boolean lastWrite;
+    private final int procs, quantum;
+    private int lastPid;
+
+    private long produced;
+    private int phaseBase;  // início do conjunto de trabalho da fase atual
+    private int scanNext;   // próxima página da varredura
+
+    private TraceGenerator(String model, Map<String, String> p) {
+        this.model = model;
+        this.length = (long) Double.parseDouble(p.getOrDefault("n", "1000000"));
+        this.rnd = new SplittableRandom(Long.parseLong(p.getOrDefault("seed", "42")));
+        this.pages = Integer.parseInt(p.getOrDefault("pages", "10000"));
+        this.ws = Integer.parseInt(p.getOrDefault("ws", "100"));
+        this.phase = Integer.parseInt(p.getOrDefault("phase", "10000"));
+        this.loop = Integer.parseInt(p.getOrDefault("loop", "1000"));
+        this.hot = Integer.parseInt(p.getOrDefault("hot", "100"));
+        this.scan = Double.parseDouble(p.getOrDefault("scan", "0.2"));
+        this.writes = Double.parseDouble(p.getOrDefault("writes", "0"));
+        this.writeRnd = new SplittableRandom(~Long.parseLong(p.getOrDefault("seed", "42")));
+        this.procs = Integer.parseInt(p.getOrDefault("procs", "1"));
+        this.quantum = Integer.parseInt(p.getOrDefault("quantum", "1000"));
+        if (length < 0 || pages <= 0 || ws <= 0 || ws > pages || phase <= 0 || loop <= 0 || hot <= 0 || scan < 0 || scan > 1
+                || writes < 0 || writes > 1 || procs <= 0 || quantum <= 0) {
+            throw new IllegalArgumentException("Parâmetros inválidos para o gerador: " + p);
+        }
+        switch (model) {
+            case "uniform", "phases", "loop", "scan" -> zipf = null;
+            case "zipf" -> zipf = new ZipfSampler(pages, Double.parseDouble(p.getOrDefault("s", "1.0")));
+            default -> throw new IllegalArgumentException("Modelo de trace desconhecido: " + model);
+        }
+        this.scanNext = hot;
+    }
+
+    /** Cria um gerador a partir de uma especificação "modelo:chave=valor,...". */
+    public static TraceGenerator parse(String spec) {
+        int colon = spec.indexOf(':');
+        String model = (colon < 0 ? spec : spec.substring(0, colon)).trim().toLowerCase();
+        Map<String, String> params = new HashMap<>();
+        if (colon >= 0) {
+            for (String kv : spec.substring(colon + 1).split(",")) {
+                if (kv.isBlank()) continue;
+                int eq = kv.indexOf('=');
+                if (eq < 0) throw new IllegalArgumentException("Parâmetro sem valor: " + kv);
+                params.put(kv.substring(0, eq).trim().toLowerCase(), kv.substring(eq + 1).trim());
+            }
+        }
+        return new TraceGenerator(model, params);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    @Override public boolean hasNext() {
+        return produced < length;
+    }
+
+    @Override public int nextInt() {
+        if (produced >= length) throw new NoSuchElementException();
+        long t = produced++;
+        lastWrite = writes > 0 && writeRnd.nextDouble() < writes;
+        lastPid = procs > 1 ? (int) ((t / quantum) % procs) : 0;
+        switch (model) {
+            case "uniform":
+                return rnd.nextInt(pages);
+            case "zipf":
+                return zipf.sample(rnd) - 1;
+            case "phases":
+                if (t % phase == 0) phaseBase = rnd.nextInt(pages - ws + 1);
+                return phaseBase + rnd.nextInt(ws);
+            case "loop":
+                return (int) (t % loop);
+            default: // scan
+                if (rnd.nextDouble() < scan) {
+                    int p = scanNext;
+                    scanNext = scanNext == Integer.MAX_VALUE ? hot : scanNext + 1;
+                    return p;
+                }
+                return rnd.nextInt(hot);
+        }
+    }
+
+    @Override public boolean isWrite() {
+        return lastWrite;
+    }
+
+    @Override public int pid() {
+        return lastPid;
+    }
+
+    @Override public void close() {
+    }
+
+    /** Grava o restante do trace em texto, uma referência por linha ("-" = stdout; "processo:página" com procs > 1). */
+    public long writeText(String out) throws IOException {
+        Writer w = "-".equals(out)
+                ? new OutputStreamWriter(System.out, StandardCharsets.US_ASCII)
+                : Files.newBufferedWriter(Path.of(out), StandardCharsets.US_ASCII);
+        long n = 0;
+        try (BufferedWriter bw = new BufferedWriter(w, 1 << 16)) {
+            while (hasNext()) {
+                int r = nextInt();
+                if (lastWrite) bw.write('W');
+                if (procs > 1) {
+                    bw.write(Integer.toString(lastPid));
+                    bw.write(':');
+                }
+                bw.write(Integer.toString(r));
+                bw.write('\n');
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Amostragem Zipf por rejeição-inversão (Hörmann e Derflinger), O(1) de memória
+     * independentemente do número de páginas. Devolve um posto em 1..n.
+     */
+    static final class ZipfSampler {
+        private final int n;
+        private final double s;
+        private final double hIntegralX1, hIntegralN, threshold;
+
+        ZipfSampler(int n, double s) {
+            if (s <= 0) throw new IllegalArgumentException("Expoente Zipf deve ser positivo: " + s);
+            this.n = n;
+            this.s = s;
+            hIntegralX1 = hIntegral(1.5) - 1.0;
+            hIntegralN = hIntegral(n + 0.5);
+            threshold = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+        }
+
+        int sample(SplittableRandom rnd) {
+            while (true) {
+                double u = hIntegralN + rnd.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) k = 1;
+                else if (k > n) k = n;
+                if (k - x <= threshold || u >= hIntegral(k + 0.5) - h(k)) return k;
+            }
+        }
+
+        private double h(double x) {
+            return Math.exp(-s * Math.log(x));
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1.0 - s) * logX) * logX;
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = x * (1.0 - s);
+            if (t < -1.0) t = -1.0;
+            return Math.exp(helper1(t) * x);
+        }
+
+        // log1p(x)/x, estável perto de 0
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+
+        // expm1(x)/x, estável perto de 0
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: java TraceGenerator <modelo:chave=valor,...> <saida|-> [--binary]");
+            System.exit(2);
+        }
+        TraceGenerator gen = parse(args[0]);
+        boolean binary = args.length >= 3 && "--binary".equalsIgnoreCase(args[2]);
+        long n = binary ? BinaryTrace.write(Path.of(args[1]), gen, 0) : gen.writeText(args[1]);
+        if (!"-".equals(args[1])) System.out.printf("%d referências gravadas em %s%n", n, args[1]);
+    }
+}
@@ -0,0 +1,179 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Leitura incremental de traces em texto (números separados por espaço, vírgula,
+ * ponto e vírgula ou quebra de linha; prefixo W marca escrita, ex.: "W12", e R leitura;
+ * "processo:página" indica o processo, ex.: "3:12" ou "W3:12") direto dos bytes, sem montar
+ * uma String.
+ * Arquivos são mapeados em memória em janelas de {@link #MAP_WINDOW} bytes;
+ * stdin e outros streams passam por um ByteBuffer direto reaproveitado.
+ */
+public class TraceReader implements TraceSource {
+    static final long MAP_WINDOW = 64L << 20;
+    private static final int STREAM_BUFFER = 1 << 16;
+
+    private final FileChannel file;        // null quando lendo de um stream
+    private final ReadableByteChannel in;  // null quando lendo de arquivo mapeado
+    private final long fileSize;
+    private long mapped;                   // bytes do arquivo já mapeados
+    private ByteBuffer buf;
+    private long consumed;                 // bytes já processados (para mensagens de erro)
+
+    private boolean hasPending;
+    private int pending;
+    private boolean pendingWrite, lastWrite;
+    private int pendingPid, lastPid;
+    private boolean eof;
+
+    private TraceReader(FileChannel file, ReadableByteChannel in) throws IOException {
+        this.file = file;
+        this.in = in;
+        this.fileSize = file != null ? file.size() : -1;
+        if (in != null) {
+            buf = ByteBuffer.allocateDirect(STREAM_BUFFER);
+            buf.flip();
+        } else {
+            buf = ByteBuffer.allocate(0);
+        }
+    }
+
+    public static TraceReader open(Path path) throws IOException {
+        return new TraceReader(FileChannel.open(path, StandardOpenOption.READ), null);
+    }
+
+    public static TraceReader of(InputStream in) throws IOException {
+        return new TraceReader(null, Channels.newChannel(in));
+    }
+
+    /** Abre o arquivo, ou stdin quando o caminho é "-". */
+    public static TraceReader openOrStdin(String path) throws IOException {
+        return "-".equals(path) ? of(System.in) : open(Path.of(path));
+    }
+
+    /** Lê o restante do trace para um IntTrace (4 bytes por referência). */
+    public IntTrace readAll() {
+        IntTrace t = new IntTrace(fileSize > 0 ? (int) Math.min(fileSize / 2, 1 << 24) : 1024);
+        while (hasNext()) {
+            int r = nextInt();
+            t.add(r, lastWrite, lastPid);
+        }
+        t.trimToSize();
+        return t;
+    }
+
+    @Override public boolean hasNext() {
+        if (!hasPending && !eof) advance();
+        return hasPending;
+    }
+
+    @Override public int nextInt() {
+        if (!hasNext()) throw new NoSuchElementException();
+        hasPending = false;
+        lastWrite = pendingWrite;
+        lastPid = pendingPid;
+        return pending;
+    }
+
+    @Override public boolean isWrite() {
+        return lastWrite;
+    }
+
+    @Override public int pid() {
+        return lastPid;
+    }
+
+    // Máquina de estados byte a byte: um número pode atravessar o fim de uma janela.
+    private void advance() {
+        long value = 0;
+        boolean neg = false, inNumber = false, sign = false, marker = false, write = false, hasPid = false;
+        int pid = 0;
+        while (true) {
+            if (!buf.hasRemaining() && !refill()) {
+                eof = true;
+                break;
+            }
+            byte b = buf.get();
+            consumed++;
+            if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                if (value > (long) Integer.MAX_VALUE + 1) throw error("número fora do intervalo de int");
+                inNumber = true;
+            } else if (b == 'W' || b == 'w' || b == 'R' || b == 'r') {
+                if (inNumber || sign || marker) throw error("marcador de acesso fora do lugar");
+                write = b == 'W' || b == 'w';
+                marker = true;
+            } else if (b == ':') {
+                if (!inNumber || neg || hasPid) throw error("separador de processo fora do lugar");
+                if (value > Integer.MAX_VALUE) throw error("processo fora do intervalo de int");
+                pid = (int) value;
+                value = 0;
+                inNumber = sign = false;
+                hasPid = true;
+            } else if (b == '-' || b == '+') {
+                if (inNumber || sign) throw error("sinal inesperado");
+                neg = b == '-';
+                sign = true;
+            } else if (b == ',' || b == ';' || b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                if (inNumber) break;
+                if (sign) throw error("sinal sem número");
+                if (marker) throw error("marcador de acesso sem número");
+                if (hasPid) throw error("processo sem página");
+            } else {
+                throw error("caractere inválido '" + (char) (b & 0xff) + "'");
+            }
+        }
+        if (inNumber) {
+            long v = neg ? -value : value;
+            if (v > Integer.MAX_VALUE) throw error("número fora do intervalo de int");
+            pending = (int) v;
+            pendingWrite = write;
+            pendingPid = pid;
+            hasPending = true;
+        } else if (sign) {
+            throw error("sinal sem número");
+        } else if (marker) {
+            throw error("marcador de acesso sem número");
+        } else if (hasPid) {
+            throw error("processo sem página");
+        }
+    }
+
+    private boolean refill() {
+        try {
+            if (file != null) {
+                if (mapped >= fileSize) return false;
+                long len = Math.min(MAP_WINDOW, fileSize - mapped);
+                buf = file.map(FileChannel.MapMode.READ_ONLY, mapped, len);
+                mapped += len;
+                return true;
+            }
+            buf.clear();
+            int n;
+            do {
+                n = in.read(buf);
+            } while (n == 0);
+            buf.flip();
+            return n > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private NumberFormatException error(String msg) {
+        return new NumberFormatException("Trace inválido no byte " + (consumed - 1) + ": " + msg);
+    }
+
+    @Override public void close() throws IOException {
+        if (file != null) file.close();
+        if (in != null) in.close();
+    }
+}
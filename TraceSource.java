@@ -0,0 +1,37 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+
+/**
+ * Fluxo de referências de página lido de um arquivo ou stream (precisa ser fechado).
+ * Cada referência pode ser uma leitura ou uma escrita (ver isWrite()) e pertencer a um
+ * processo (ver pid()).
+ */
+public interface TraceSource extends PrimitiveIterator.OfInt, Closeable {
+    String GENERATOR_PREFIX = "gen:";
+    String ADDRESS_PREFIX = "addr:";
+
+    /**
+     * Abre um trace texto ou binário (detectado pelo cabeçalho); "-" lê texto de stdin,
+     * "gen:especificação" gera um trace sintético (ver TraceGenerator) e
+     * "addr:tamanho:caminho" lê endereços virtuais como páginas desse tamanho (ver AddressTrace).
+     */
+    static TraceSource open(String path) throws IOException {
+        if ("-".equals(path)) return TraceReader.of(System.in);
+        if (path.startsWith(GENERATOR_PREFIX)) return TraceGenerator.parse(path.substring(GENERATOR_PREFIX.length()));
+        if (path.startsWith(ADDRESS_PREFIX)) return AddressTrace.open(path.substring(ADDRESS_PREFIX.length()));
+        Path p = Path.of(path);
+        return BinaryTrace.isBinary(p) ? BinaryTrace.Reader.open(p) : TraceReader.open(p);
+    }
+
+    /** true se a última referência devolvida por nextInt() foi uma escrita. */
+    default boolean isWrite() {
+        return false;
+    }
+
+    /** Processo da última referência devolvida por nextInt() (0 em traces sem processo). */
+    default int pid() {
+        return 0;
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * 2Q (Johnson e Shasha, versão completa): a primeira referência entra em A1in (FIFO de
+ * cerca de 1/4 das molduras); o que sai de A1in fica lembrado em A1out (fantasmas, até
+ * metade das molduras). Só uma página que volta enquanto está em A1out entra em Am, a
+ * lista LRU principal, então uma varredura passa por A1in sem expulsar Am. O(1) por referência.
+ */
+public class TwoQueuePolicy extends AbstractPolicy {
+    private final IntLinkedSet a1in, a1out, am;
+    private final int kin, kout;
+    private boolean toAm; // a página da falta atual estava em A1out
+
+    public TwoQueuePolicy(int frames) {
+        super("2Q", frames);
+        kin = Math.max(1, frames / 4);
+        kout = Math.max(1, frames / 2);
+        a1in = new IntLinkedSet(frames);
+        a1out = new IntLinkedSet(kout + 1);
+        am = new IntLinkedSet(frames);
+    }
+
+    @Override public void onHit(int slot, long t) {
+        int page = pages[slot];
+        if (!a1in.contains(page)) am.moveToLast(page); // acerto em A1in não muda nada
+    }
+
+    @Override protected int victim(int page, long t) {
+        toAm = a1out.remove(page);
+        int out;
+        if (a1in.size() > kin || am.isEmpty()) {
+            out = a1in.removeFirst();
+            a1out.addLast(out);
+            if (a1out.size() > kout) a1out.removeFirst();
+        } else {
+            out = am.removeFirst();
+        }
+        return index.get(out, -1);
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        if (toAm) am.addLast(pages[slot]);
+        else a1in.addLast(pages[slot]);
+        toAm = false;
+    }
+}
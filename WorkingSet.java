@@ -0,0 +1,58 @@
+import java.util.Arrays;
+
+/**
+ * Conjunto de trabalho W(t, Δ) de Denning: as páginas distintas referenciadas nas últimas Δ
+ * referências. O tamanho |W(t, Δ)| é mantido incrementalmente em O(1) por referência: um
+ * anel guarda as Δ últimas referências e cada página lembra o instante do último uso, então
+ * a referência que sai da janela só diminui o tamanho se a página não foi usada depois dela.
+ *
+ * As páginas recebem um índice denso na primeira referência (IntIntMap), e o último uso fica
+ * num long[] indexado por ele. Como política de memória (residentes = W(t-1, Δ)), uma
+ * referência é falta quando a página não foi usada nas Δ referências anteriores.
+ */
+public class WorkingSet {
+    private final int delta;
+    private final int[] window;        // índice da página de cada uma das Δ últimas referências
+    private final IntIntMap indexOf = new IntIntMap();
+    private long[] lastUse = new long[16];
+    private long time;                 // referências já vistas
+    private int size;                  // |W(t, Δ)|
+
+    public WorkingSet(int delta) {
+        if (delta <= 0) throw new IllegalArgumentException("Janela do conjunto de trabalho deve ser positiva: " + delta);
+        this.delta = delta;
+        this.window = new int[delta];
+    }
+
+    public int delta() {
+        return delta;
+    }
+
+    /** |W(t, Δ)| depois da última referência. */
+    public int size() {
+        return size;
+    }
+
+    public long time() {
+        return time;
+    }
+
+    /** Registra a próxima referência; devolve true se a página estava fora de W(t-1, Δ) (falta). */
+    public boolean access(int page) {
+        long t = time++;
+        int p = indexOf.get(page, -1);
+        if (p < 0) {
+            p = indexOf.size();
+            indexOf.put(page, p);
+            if (p == lastUse.length) lastUse = Arrays.copyOf(lastUse, p * 2);
+            lastUse[p] = Long.MIN_VALUE;
+        }
+        long last = lastUse[p];
+        int slot = (int) (t % delta);
+        if (t >= delta && lastUse[window[slot]] == t - delta) size--; // a referência de t-Δ saiu da janela
+        if (last <= t - delta) size++;                                 // a página não estava em (t-Δ, t-1]
+        lastUse[p] = t;
+        window[slot] = p;
+        return last < t - delta;
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+
+/**
+ * Simulação sem número fixo de molduras: numa única passada sobre o fluxo, mede o conjunto de
+ * trabalho |W(t, Δ)| (WorkingSet) e a memória usada pela alocação PFF (PageFaultFrequency),
+ * com a taxa de faltas de cada um. A cada {@code sample} referências grava uma linha CSV:
+ *   t,ws,taxa_ws,pff,taxa_pff
+ * (instante, |W(t, Δ)|, faltas/referências do modelo de conjunto de trabalho no intervalo,
+ * molduras do PFF, faltas/referências do PFF no intervalo). O(1) por referência (amortizado
+ * no PFF); o trace não é guardado.
+ */
+public class WorkingSetSimulator {
+    /** Totais da passada: servem para dimensionar a memória do workload. */
+    public static class Summary {
+        public final long refs, wsFaults, pffFaults;
+        public final double wsMean, pffMean; // média por referência
+        public final int wsMax, pffMax;
+
+        Summary(long refs, long wsFaults, long pffFaults, double wsMean, double pffMean, int wsMax, int pffMax) {
+            this.refs = refs;
+            this.wsFaults = wsFaults;
+            this.pffFaults = pffFaults;
+            this.wsMean = wsMean;
+            this.pffMean = pffMean;
+            this.wsMax = wsMax;
+            this.pffMax = pffMax;
+        }
+
+        public void print(PrintStream out) {
+            out.printf(Locale.ROOT, "- Conjunto de trabalho - %d faltas de página, tamanho médio %.1f, máximo %d%n",
+                    wsFaults, wsMean, wsMax);
+            out.printf(Locale.ROOT, "- PFF - %d faltas de página, molduras em média %.1f, máximo %d%n",
+                    pffFaults, pffMean, pffMax);
+        }
+    }
+
+    /**
+     * Consome o fluxo; {@code csv} recebe a série temporal (null = só o resumo).
+     * pffInterval é o intervalo entre faltas, em referências, acima do qual o PFF encolhe.
+     */
+    public static Summary run(PrimitiveIterator.OfInt refs, int delta, long pffInterval, long sample, PrintStream csv) {
+        if (sample <= 0) throw new IllegalArgumentException("Intervalo de amostragem deve ser positivo: " + sample);
+        WorkingSet ws = new WorkingSet(delta);
+        PageFaultFrequency pff = new PageFaultFrequency(pffInterval);
+        long t = 0, wsFaults = 0, pffFaults = 0, wsSum = 0, pffSum = 0;
+        int wsMax = 0, pffMax = 0, wsWindow = 0, pffWindow = 0;
+        long sinceSample = 0;
+        StringBuilder line = new StringBuilder(64);
+        if (csv != null) csv.println("t,ws,taxa_ws,pff,taxa_pff");
+        while (refs.hasNext()) {
+            int r = refs.nextInt();
+            if (ws.access(r)) wsWindow++;
+            if (pff.access(r)) pffWindow++;
+            int w = ws.size(), m = pff.resident();
+            wsSum += w;
+            pffSum += m;
+            if (w > wsMax) wsMax = w;
+            if (m > pffMax) pffMax = m;
+            t++;
+            if (++sinceSample == sample || !refs.hasNext()) {
+                if (csv != null) {
+                    line.setLength(0);
+                    line.append(t).append(',').append(w).append(',');
+                    appendRate(line, wsWindow, sinceSample).append(',').append(m).append(',');
+                    appendRate(line, pffWindow, sinceSample);
+                    csv.println(line);
+                }
+                wsFaults += wsWindow;
+                pffFaults += pffWindow;
+                wsWindow = pffWindow = 0;
+                sinceSample = 0;
+            }
+        }
+        return new Summary(t, wsFaults, pffFaults, t == 0 ? 0 : (double) wsSum / t, t == 0 ? 0 : (double) pffSum / t,
+                wsMax, pffMax);
+    }
+
+    private static StringBuilder appendRate(StringBuilder sb, long faults, long refs) {
+        return sb.append(String.format(Locale.ROOT, "%.4f", (double) faults / refs));
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * WSClock (Carr e Hennessy): relógio sobre as molduras em que cada uma guarda o instante
+ * do último uso. A cada tick, as molduras com R ligado têm o último uso atualizado e R
+ * zerado. Na falta, o ponteiro avança:
+ *   R = 1                      - zera R, atualiza o último uso e segue;
+ *   R = 0, idade > tau, limpa  - fora do conjunto de trabalho: é a vítima;
+ *   R = 0, idade > tau, suja   - agenda a gravação (a página fica limpa) e segue.
+ * Se der a volta inteira, fica com a primeira página limpada por gravação ou, sem nenhuma,
+ * com a página limpa mais antiga (ou a do ponteiro). tau é medido em referências.
+ */
+public class WsClockPolicy extends TickPolicy {
+    private final long tau;
+    private final long[] lastUse;
+    private int hand;
+
+    public WsClockPolicy(int frames) {
+        this(frames, 0, 0);
+    }
+
+    /** tau <= 0 usa tau = frames referências. */
+    public WsClockPolicy(int frames, long tau, int tickInterval) {
+        super("WSClock", frames, tickInterval);
+        this.tau = tau > 0 ? tau : Math.max(frames, 1);
+        this.lastUse = new long[Math.max(frames, 1)];
+    }
+
+    @Override protected void tick(long now) {
+        for (int i = referenced.nextSetBit(0); i >= 0; i = referenced.nextSetBit(i + 1)) {
+            lastUse[i] = now;
+        }
+        referenced.clearAll();
+    }
+
+    @Override protected int victim(int page, long t) {
+        advance(t);
+        int written = -1, oldestClean = -1;
+        for (int i = 0; i < frames; i++, hand = (hand + 1) % frames) {
+            if (referenced.get(hand)) {
+                referenced.clear(hand);
+                lastUse[hand] = t;
+            } else if (t - lastUse[hand] > tau) {
+                if (!dirty.get(hand)) return take();
+                clean(hand); // gravação agendada
+                if (written < 0) written = hand;
+            } else if (!dirty.get(hand) && (oldestClean < 0 || lastUse[hand] < lastUse[oldestClean])) {
+                oldestClean = hand;
+            }
+        }
+        if (written >= 0) hand = written;
+        else if (oldestClean >= 0) hand = oldestClean;
+        return take();
+    }
+
+    private int take() {
+        int v = hand;
+        hand = (hand + 1) % frames;
+        return v;
+    }
+
+    @Override protected void loaded(int slot, long t) {
+        advance(t);
+        lastUse[slot] = t;
+        super.loaded(slot, t);
+    }
+}
@@ -0,0 +1,73 @@
+package pagebench;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vazão dos algoritmos (modo contagem) por tamanho de trace, número de molduras
+ * e padrão de localidade. Cada operação simula o trace inteiro; o contador auxiliar
+ * "references" dá a vazão em referências por segundo.
+ *
+ * java -jar target/benchmarks.jar ReplacementBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ReplacementBenchmark {
+
+    @Param({ "FIFO", "LRU", "Clock", "OPT", "ARC", "CLOCK-Pro", "LIRS", "2Q" })
+    public String algorithm;
+
+    @Param({ "100000", "1000000" })
+    public int length;
+
+    @Param({ "64", "1024", "16384" })
+    public int frames;
+
+    @Param({ "uniform", "zipf", "loop", "scan" })
+    public String pattern;
+
+    private Object trace;
+    private MethodHandle simulator;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class References {
+        public long references;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            references = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trace = Simulators.trace(Workloads.generate(pattern, length, frames));
+        simulator = Simulators.simulator(algorithm);
+    }
+
+    @Benchmark
+    public long simulate(References counter) throws Throwable {
+        Object result = (Object) simulator.invokeExact(trace, frames);
+        counter.references += length;
+        return Simulators.faults(result);
+    }
+}
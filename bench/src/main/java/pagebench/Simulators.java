@@ -0,0 +1,93 @@
+package pagebench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Ponte para as classes do simulador, que ficam no pacote padrão (o JMH exige que os
+ * benchmarks estejam em um pacote nomeado, e Java não permite importar do pacote padrão).
+ * Os MethodHandles são resolvidos uma vez; o custo da chamada é desprezível perto de
+ * simular um trace inteiro por operação.
+ */
+final class Simulators {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final Class<?> INT_TRACE = load("IntTrace");
+    private static final Class<?> RESULT = load("PageReplacementSimulator$Result");
+    private static final MethodHandle WRAP = findStatic(INT_TRACE, "wrap", MethodType.methodType(INT_TRACE, int[].class))
+            .asType(MethodType.methodType(Object.class, int[].class));
+    private static final MethodHandle FAULTS;
+
+    static {
+        try {
+            FAULTS = LOOKUP.findGetter(RESULT, "faults", long.class).asType(MethodType.methodType(long.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Simulators() {
+    }
+
+    /** IntTrace envolvendo o array (sem cópia). */
+    static Object trace(int[] refs) {
+        try {
+            return (Object) WRAP.invokeExact(refs);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Handle (Object trace, int frames) -> Object result em modo contagem: simulateX para os
+     * quatro algoritmos originais, ou simulate(Policies.create(nome, frames), trace, false)
+     * para as demais políticas registradas.
+     */
+    static MethodHandle simulator(String algorithm) {
+        String method = switch (algorithm) {
+            case "FIFO" -> "simulateFIFO";
+            case "LRU" -> "simulateLRU";
+            case "Clock" -> "simulateClock";
+            case "OPT" -> "simulateOptimal";
+            default -> null;
+        };
+        Class<?> simulator = load("PageReplacementSimulator");
+        if (method != null) {
+            return findStatic(simulator, method, MethodType.methodType(RESULT, INT_TRACE, int.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, int.class));
+        }
+        Class<?> policy = load("ReplacementPolicy");
+        MethodHandle create = MethodHandles.insertArguments(
+                findStatic(load("Policies"), "create", MethodType.methodType(policy, String.class, int.class)), 0, algorithm);
+        MethodHandle simulate = MethodHandles.insertArguments(
+                findStatic(simulator, "simulate", MethodType.methodType(RESULT, policy, INT_TRACE, boolean.class)), 2, false);
+        // (policy, trace) -> (trace, frames): cria a política a partir do número de molduras
+        MethodHandle byFrames = MethodHandles.filterArguments(
+                MethodHandles.permuteArguments(simulate, MethodType.methodType(RESULT, INT_TRACE, policy), 1, 0), 1, create);
+        return byFrames.asType(MethodType.methodType(Object.class, Object.class, int.class));
+    }
+
+    static long faults(Object result) {
+        try {
+            return (long) FAULTS.invokeExact(result);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Classe do simulador não encontrada: " + name, e);
+        }
+    }
+
+    private static MethodHandle findStatic(Class<?> owner, String name, MethodType type) {
+        try {
+            return LOOKUP.findStatic(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
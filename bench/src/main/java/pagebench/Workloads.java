@@ -0,0 +1,66 @@
+package pagebench;
+
+import java.util.SplittableRandom;
+
+/**
+ * Traces sintéticos com semente fixa para os benchmarks.
+ * O universo de páginas é proporcional ao número de molduras, para que a taxa de
+ * acertos seja comparável entre tamanhos.
+ */
+final class Workloads {
+    private static final long SEED = 42;
+
+    private Workloads() {
+    }
+
+    static int[] generate(String pattern, int length, int frames) {
+        SplittableRandom rnd = new SplittableRandom(SEED);
+        int[] refs = new int[length];
+        switch (pattern) {
+            case "uniform" -> {
+                // sem localidade: páginas sorteadas em um universo 4x maior que a memória
+                int pages = 4 * frames;
+                for (int i = 0; i < length; i++) refs[i] = rnd.nextInt(pages);
+            }
+            case "zipf" -> {
+                // popularidade Zipf (s = 1) sobre um universo 8x maior que a memória
+                double[] cdf = zipfCdf(8 * frames, 1.0);
+                for (int i = 0; i < length; i++) refs[i] = search(cdf, rnd.nextDouble());
+            }
+            case "loop" -> {
+                // laço 50% maior que a memória: pior caso do LRU/FIFO
+                int loop = frames + frames / 2 + 1;
+                for (int i = 0; i < length; i++) refs[i] = i % loop;
+            }
+            case "scan" -> {
+                // conjunto quente de frames/2 páginas intercalado com uma varredura sequencial sem reúso
+                int hot = Math.max(1, frames / 2);
+                int next = hot;
+                for (int i = 0; i < length; i++) refs[i] = rnd.nextInt(4) == 0 ? next++ : rnd.nextInt(hot);
+            }
+            default -> throw new IllegalArgumentException("Padrão desconhecido: " + pattern);
+        }
+        return refs;
+    }
+
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, s);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) cdf[k] /= sum;
+        return cdf;
+    }
+
+    private static int search(double[] cdf, double u) {
+        int lo = 0, hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < u) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}